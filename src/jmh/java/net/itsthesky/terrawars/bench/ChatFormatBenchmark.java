@@ -0,0 +1,56 @@
+package net.itsthesky.terrawars.bench;
+
+import net.itsthesky.terrawars.core.services.ChatService;
+import net.itsthesky.terrawars.util.Colors;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ChatService#format}, used for every chat message, title, item name and lore line.
+ * <br>
+ * {@link #hotbarLore} formats the same lines as <code>AbstractAbility#buildHotBarItem</code>
+ * (through <code>ItemBuilder#lore</code>): building the item itself needs a running server
+ * (item factory and registries), so only its formatting cost is measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChatFormatBenchmark {
+
+    private static final List<String> HOTBAR_LORE = List.of(
+            "[green]<accent>✔ <base>Ready to use!<text> Right-click or drop your weapon.",
+            "",
+            "<text><i>Summon a ring of ice spikes around you,",
+            "<text><i>slowing and damaging nearby enemies."
+    );
+
+    private ChatService chatService;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        // services are normally created by the service provider, which bypasses the private constructor
+        final var constructor = ChatService.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        this.chatService = constructor.newInstance();
+    }
+
+    @Benchmark
+    public Component simpleMessage() {
+        return chatService.format("Game starting in <accent>5 seconds<text> ...");
+    }
+
+    @Benchmark
+    public Component schemeOverride() {
+        return chatService.format("[red]<accent>⌚ <text>Cooldown: <base>12s", Colors.INDIGO);
+    }
+
+    @Benchmark
+    public void hotbarLore(Blackhole blackhole) {
+        for (String line : HOTBAR_LORE)
+            blackhole.consume(chatService.format(line, Colors.INDIGO));
+    }
+}
@@ -0,0 +1,106 @@
+package net.itsthesky.terrawars.bench;
+
+import net.itsthesky.terrawars.api.model.game.IGame;
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.model.game.IGameTeam;
+import net.itsthesky.terrawars.core.impl.game.Game;
+import net.itsthesky.terrawars.core.impl.game.GamePlayer;
+import net.itsthesky.terrawars.core.impl.game.GameTeam;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link IGame#findGamePlayer(org.bukkit.OfflinePlayer)}, called with the event's
+ * player by most game event handlers.
+ * <br>
+ * {@link #teamScan} runs the baseline implementation (the {@link IGame} default, scanning the
+ * players of every team), while {@link #indexed} runs the lookup of {@link Game}. Both start
+ * from the Bukkit player and work on real {@link Game}, {@link GameTeam} and {@link GamePlayer}
+ * instances, allocated without their constructors. Players are stand-ins, whose calls cost
+ * more than CraftBukkit's: the scan, making one such call per scanned player, is penalized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FindGamePlayerBenchmark {
+
+    private static final int TEAMS = 4;
+
+    @Param({"1", "4", "8"})
+    public int playersPerTeam;
+
+    private Game game;
+    private Set<IGameTeam> teams;
+    private Player[] lookups;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        this.teams = new LinkedHashSet<>();
+        final var playersById = new ConcurrentHashMap<UUID, GamePlayer>();
+        final var lookups = new ArrayList<Player>();
+
+        for (int t = 0; t < TEAMS; t++) {
+            final var players = new LinkedHashMap<UUID, GamePlayer>();
+            for (int p = 0; p < playersPerTeam; p++) {
+                final var uuid = UUID.randomUUID();
+                final var bukkitPlayer = StandIns.player(uuid);
+                final var gamePlayer = StandIns.allocate(GamePlayer.class, Map.of("offlinePlayer", bukkitPlayer));
+
+                players.put(uuid, gamePlayer);
+                playersById.put(uuid, gamePlayer);
+                lookups.add(bukkitPlayer);
+            }
+
+            teams.add(StandIns.allocate(GameTeam.class, Map.of("players", players)));
+        }
+
+        this.game = StandIns.allocate(Game.class, Map.of(
+                "playersById", playersById,
+                "state", IGame.GameState.RUNNING
+        ));
+
+        // also look up players that aren't in the game, as listeners do for every event
+        lookups.add(StandIns.player(UUID.randomUUID()));
+        Collections.shuffle(lookups, new Random(42));
+        this.lookups = lookups.toArray(Player[]::new);
+    }
+
+    private Player next() {
+        final var player = lookups[cursor];
+        cursor = (cursor + 1) % lookups.length;
+        return player;
+    }
+
+    @Benchmark
+    public IGamePlayer teamScan() {
+        return scanTeams(next());
+    }
+
+    @Benchmark
+    public IGamePlayer indexed() {
+        return game.findGamePlayer(next());
+    }
+
+    /**
+     * The running-game branch of the {@link IGame#findGamePlayer(UUID)} default, which
+     * {@link Game} overrides.
+     */
+    private @Nullable IGamePlayer scanTeams(@NotNull Player player) {
+        final var playerId = player.getUniqueId();
+        for (IGameTeam team : teams) {
+            for (IGamePlayer gamePlayer : team.getPlayers()) {
+                if (gamePlayer.getPlayer().getUniqueId().equals(playerId)) {
+                    return gamePlayer;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package net.itsthesky.terrawars.bench;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import net.itsthesky.terrawars.util.adapters.LocationAdapter;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LocationAdapter}, used for every location of the game configurations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocationAdapterBenchmark {
+
+    private final LocationAdapter adapter = new LocationAdapter();
+    private Location location;
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        StandIns.installServer();
+        this.location = new Location(StandIns.world("bench"), 152.5, 131, -87.5, 90f, 0f);
+        this.json = write();
+    }
+
+    @Benchmark
+    public String write() throws IOException {
+        final var writer = new StringWriter(128);
+        adapter.write(new JsonWriter(writer), location);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public Location read() throws IOException {
+        return adapter.read(new JsonReader(new StringReader(json)));
+    }
+}
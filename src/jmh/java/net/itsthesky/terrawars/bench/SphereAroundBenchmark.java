@@ -0,0 +1,69 @@
+package net.itsthesky.terrawars.bench;
+
+import net.itsthesky.terrawars.util.BukkitUtils;
+import net.itsthesky.terrawars.util.VoxelShape;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BukkitUtils#sphereAround(Location, int)}, used by area abilities, against
+ * iterating the positions of the cached {@link VoxelShape#sphere(int) sphere} directly.
+ * <br>
+ * {@link #sphereTypes} and {@link #largeBoxTypes} cover both paths of
+ * {@link VoxelShape#forEachType(Location, VoxelShape.TypeVisitor)}: spheres are below
+ * {@link VoxelShape#MIN_SNAPSHOT_SIZE} and read each type from the world, while the box is
+ * larger and spans four chunks, so it reads them through chunk snapshots.
+ * <br>
+ * Blocks, worlds and snapshots are stand-ins, so only the iteration, distance checks and set
+ * building are measured, not the cost of reading or copying real chunk data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SphereAroundBenchmark {
+
+    @Param({"2", "4", "6"})
+    public int radius;
+
+    // 32 * 64 * 32 blocks, over 2 * 2 chunks when its corner is chunk-aligned
+    private static final VoxelShape LARGE_BOX = VoxelShape.box(0, 0, 0, 31, 63, 31);
+
+    private Location center;
+    private Location chunkCorner;
+
+    @Setup
+    public void setup() {
+        this.center = new Location(StandIns.world("bench"), 12.5, 130, -40.5);
+        this.chunkCorner = new Location(StandIns.world("bench"), 16, 64, -48);
+    }
+
+    @Benchmark
+    public Set<Block> sphereAround() {
+        return BukkitUtils.sphereAround(center, radius);
+    }
+
+    @Benchmark
+    public int voxelSphere() {
+        final int[] hash = new int[1];
+        VoxelShape.sphere(radius).forEachPosition(center, (x, y, z) -> hash[0] += x ^ y ^ z);
+        return hash[0];
+    }
+
+    @Benchmark
+    public int sphereTypes() {
+        final int[] hash = new int[1];
+        VoxelShape.sphere(radius).forEachType(center, (x, y, z, type) -> hash[0] += type.ordinal() ^ x);
+        return hash[0];
+    }
+
+    @Benchmark
+    public int largeBoxTypes() {
+        final int[] hash = new int[1];
+        LARGE_BOX.forEachType(chunkCorner, (x, y, z, type) -> hash[0] += type.ordinal() ^ x);
+        return hash[0];
+    }
+}
@@ -0,0 +1,215 @@
+package net.itsthesky.terrawars.bench;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.logging.Logger;
+
+/**
+ * Lightweight stand-ins for the Bukkit types used by the benchmarked code paths.
+ * <br>
+ * There is no server in the benchmark JVM, so interfaces (worlds, blocks, players, ...)
+ * are implemented with dynamic proxies answering only the methods the benchmarks need.
+ * Default interface methods keep their implementation, every other method returns
+ * the default value of its return type.
+ */
+public final class StandIns {
+
+    private static final Map<String, World> WORLDS = new ConcurrentHashMap<>();
+
+    private StandIns() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Install a stand-in {@link Server}, so that static calls such as {@link Bukkit#getWorld(String)} work.
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null)
+            return;
+
+        final var logger = Logger.getLogger("TerraWarsBench");
+        Bukkit.setServer(proxy(Server.class, (method, args) -> switch (method.getName()) {
+            case "getLogger" -> logger;
+            case "getName", "getVersion", "getBukkitVersion", "getMinecraftVersion" -> "bench";
+            case "getWorld" -> args[0] instanceof String name ? WORLDS.get(name) : null;
+            default -> null;
+        }));
+    }
+
+    public static @NotNull World world(@NotNull String name) {
+        return WORLDS.computeIfAbsent(name, StandIns::createWorld);
+    }
+
+    public static @NotNull Player player(@NotNull UUID uuid) {
+        final var holder = new Player[1];
+        holder[0] = proxy(Player.class, (method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> uuid;
+            case "getName" -> uuid.toString().substring(0, 8);
+            case "isOnline", "isConnected" -> true;
+            case "getPlayer" -> holder[0];
+            default -> null;
+        });
+        return holder[0];
+    }
+
+    /**
+     * Allocate an instance of a plugin class without running its constructor, which would
+     * need a running server, then set the given fields.
+     * @param type the class to instantiate
+     * @param fields the values of the fields to set, by name
+     */
+    public static <T> @NotNull T allocate(@NotNull Class<T> type, @NotNull Map<String, Object> fields) {
+        try {
+            // runs Object's constructor only, as serialization does; looked up reflectively,
+            // as referencing jdk.unsupported classes triggers a javac warning
+            final var factoryType = Class.forName("sun.reflect.ReflectionFactory");
+            final var factory = factoryType.getMethod("getReflectionFactory").invoke(null);
+            final var constructor = (Constructor<?>) factoryType
+                    .getMethod("newConstructorForSerialization", Class.class, Constructor.class)
+                    .invoke(factory, type, Object.class.getDeclaredConstructor());
+            final var instance = type.cast(constructor.newInstance());
+
+            for (var entry : fields.entrySet()) {
+                final var field = type.getDeclaredField(entry.getKey());
+                field.setAccessible(true);
+                field.set(instance, entry.getValue());
+            }
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot allocate a stand-in " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Create a proxy of the given interface.
+     * @param type the interface to implement
+     * @param answers answers the called method (with its arguments), or returns null to use the default value
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull T proxy(@NotNull Class<T> type, @NotNull BiFunction<Method, Object[], Object> answers) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> { return proxy == args[0]; }
+                case "hashCode" -> { return System.identityHashCode(proxy); }
+                case "toString" -> { return type.getSimpleName() + "StandIn"; }
+            }
+
+            final var answer = answers.apply(method, args == null ? new Object[0] : args);
+            if (answer != null)
+                return answer;
+            // default methods (e.g. IGame#findGamePlayer) keep their real implementation
+            return method.isDefault()
+                    ? InvocationHandler.invokeDefault(proxy, method, args)
+                    : defaultValue(method.getReturnType());
+        };
+        return (T) Proxy.newProxyInstance(StandIns.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static @NotNull World createWorld(@NotNull String name) {
+        final var uid = UUID.nameUUIDFromBytes(name.getBytes());
+        final var holder = new World[1];
+        holder[0] = proxy(World.class, (method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getUID" -> uid;
+            case "getMinHeight" -> -64;
+            case "getMaxHeight" -> 320;
+            case "getBlockAt" -> args.length == 1
+                    ? block(holder[0], ((Location) args[0]).getBlockX(), ((Location) args[0]).getBlockY(), ((Location) args[0]).getBlockZ())
+                    : block(holder[0], (int) args[0], (int) args[1], (int) args[2]);
+            case "getType" -> Material.STONE;
+            case "isChunkLoaded" -> true;
+            case "getChunkAt" -> args.length == 2 && args[0] instanceof Integer ? chunk(holder[0]) : null;
+            default -> null;
+        });
+        return holder[0];
+    }
+
+    /**
+     * Chunks are filled with stone, and their snapshots copy nothing.
+     */
+    private static @NotNull Chunk chunk(@NotNull World world) {
+        final var snapshot = proxy(ChunkSnapshot.class, (method, args) -> switch (method.getName()) {
+            case "getBlockType" -> Material.STONE;
+            case "getWorldName" -> world.getName();
+            default -> null;
+        });
+        return proxy(Chunk.class, (method, args) -> switch (method.getName()) {
+            case "getWorld" -> world;
+            case "isLoaded" -> true;
+            case "getChunkSnapshot" -> snapshot;
+            default -> null;
+        });
+    }
+
+    /**
+     * Blocks are value objects here: two stand-ins at the same position are equal, as with CraftBukkit.
+     */
+    private static @NotNull Block block(@NotNull World world, int x, int y, int z) {
+        return (Block) Proxy.newProxyInstance(StandIns.class.getClassLoader(), new Class<?>[]{Block.class},
+                new BlockHandler(new BlockPosition(world, x, y, z)));
+    }
+
+    private static Object defaultValue(@NotNull Class<?> type) {
+        if (!type.isPrimitive() || type == void.class)
+            return null;
+        if (type == boolean.class)
+            return false;
+        if (type == char.class)
+            return '\0';
+        if (type == float.class)
+            return 0f;
+        if (type == double.class)
+            return 0d;
+        if (type == long.class)
+            return 0L;
+        if (type == int.class)
+            return 0;
+        if (type == short.class)
+            return (short) 0;
+        return (byte) 0;
+    }
+
+    private record BlockPosition(World world, int x, int y, int z) {}
+
+    private record BlockHandler(@NotNull BlockPosition position) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            final var world = position.world();
+            final int x = position.x(), y = position.y(), z = position.z();
+            return switch (method.getName()) {
+                case "equals" -> args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof BlockHandler other
+                        && other.position().equals(position);
+                case "hashCode" -> position.hashCode();
+                case "toString" -> position.toString();
+                case "getX" -> x;
+                case "getY" -> y;
+                case "getZ" -> z;
+                case "getWorld" -> world;
+                case "getLocation" -> args == null ? new Location(world, x, y, z) : ((Location) args[0]).set(x, y, z);
+                case "getRelative" -> args.length == 3
+                        ? block(world, x + (int) args[0], y + (int) args[1], z + (int) args[2])
+                        : defaultValue(method.getReturnType());
+                default -> defaultValue(method.getReturnType());
+            };
+        }
+    }
+}
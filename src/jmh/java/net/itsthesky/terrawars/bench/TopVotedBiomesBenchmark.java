@@ -0,0 +1,44 @@
+package net.itsthesky.terrawars.bench;
+
+import net.itsthesky.terrawars.api.model.biome.IBiome;
+import net.itsthesky.terrawars.core.impl.game.GameWaitingData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link GameWaitingData#getTopVotedBiomes(int)}, recomputed on every vote.
+ * <br>
+ * Every biome has at least one vote, so the fallback to the biome service (which needs
+ * the plugin instance) is never reached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TopVotedBiomesBenchmark {
+
+    @Param({"4", "8"})
+    public int biomes;
+
+    private GameWaitingData waitingData;
+
+    @Setup
+    public void setup() {
+        this.waitingData = new GameWaitingData();
+
+        final var random = new Random(42);
+        for (int i = 0; i < biomes; i++) {
+            final var id = "biome_" + i;
+            final var biome = StandIns.proxy(IBiome.class, (method, args) ->
+                    method.getName().equals("getId") ? id : null);
+            waitingData.getVoteCount().put(biome, 1 + random.nextInt(16));
+        }
+    }
+
+    @Benchmark
+    public List<IBiome> topVotedBiomes() {
+        return waitingData.getTopVotedBiomes(4);
+    }
+}
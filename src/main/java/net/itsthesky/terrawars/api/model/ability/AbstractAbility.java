@@ -1,12 +1,15 @@
 package net.itsthesky.terrawars.api.model.ability;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.services.ICooldownService;
 import net.itsthesky.terrawars.core.impl.game.GamePlayer;
 import net.itsthesky.terrawars.util.BukkitUtils;
 import net.itsthesky.terrawars.util.Colors;
 import net.itsthesky.terrawars.util.ItemBuilder;
 import net.itsthesky.terrawars.util.Keys;
+import net.kyori.adventure.text.Component;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -16,14 +19,18 @@ import org.jetbrains.annotations.NotNull;
 import java.util.*;
 
 @Getter
-public abstract class AbstractAbility implements IAbility {
+public abstract class AbstractAbility implements IAbility, ICooldownService.CooldownListener {
     private final String id;
     private final String displayName;
     private final Material icon;
     private final List<String> description;
     private final int cooldownSeconds;
     private final AbilityType type;
-    private final Map<UUID, Long> cooldowns = new HashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final ItemStack[] hotBarItems;
+    @Getter(AccessLevel.NONE)
+    private List<Component> renderedDescription;
 
     protected AbstractAbility(String id, Material icon, String displayName, List<String> description,
                               int cooldownSeconds, AbilityType type) {
@@ -33,85 +40,101 @@ public abstract class AbstractAbility implements IAbility {
         this.description = description;
         this.cooldownSeconds = cooldownSeconds;
         this.type = type;
+        this.hotBarItems = new ItemStack[Math.max(0, cooldownSeconds) + 2];
     }
 
     @Override
     public boolean isOnCooldown(IGamePlayer player) {
-        UUID playerId = player.getPlayer().getUniqueId();
-        if (!cooldowns.containsKey(playerId))
-            return false;
-        long cooldownEnd = cooldowns.get(playerId);
-        return System.currentTimeMillis() < cooldownEnd;
+        return BukkitUtils.cooldowns().isOnCooldown(player, this);
     }
 
     @Override
     public int getRemainingCooldown(IGamePlayer player) {
-        UUID playerId = player.getPlayer().getUniqueId();
-        if (!cooldowns.containsKey(playerId))
-            return 0;
-
-        long cooldownEnd = cooldowns.get(playerId);
-        long remainingMillis = cooldownEnd - System.currentTimeMillis();
-        return (int) Math.max(0, remainingMillis / 1000);
+        return BukkitUtils.cooldowns().getRemainingSeconds(player, this);
     }
 
     @Override
     public void startCooldown(IGamePlayer player) {
-        UUID playerId = player.getPlayer().getUniqueId();
-        long cooldownEnd = System.currentTimeMillis()
-                + (cooldownSeconds * 1000L);
-        cooldowns.put(playerId, cooldownEnd);
-        BukkitUtils.runTaskTimer(task -> {
-            if (!player.isOnline()) {
-                cooldowns.remove(playerId);
-                return;
-            }
-
-            if (System.currentTimeMillis() >= cooldownEnd)
-            {
-                cooldowns.remove(playerId);
-                task.cancel();
-                onCooldownEnd(player);
-            }
+        if (cooldownSeconds <= 0)
+            return;
 
-            player.refreshHotbar();
-        }, 0, 20L);
+        BukkitUtils.cooldowns().start(player, this, cooldownSeconds * 20, this);
+        player.refreshHotbar();
     }
 
     @Override
     public void removeCooldown(IGamePlayer player) {
-        UUID playerId = player.getPlayer().getUniqueId();
-        cooldowns.remove(playerId);
+        BukkitUtils.cooldowns().cancel(player, this);
         player.refreshHotbar();
     }
 
+    @Override
+    public void onSecondChange(@NotNull IGamePlayer player, int remainingSeconds) {
+        if (player.isOnline() && player.getSelectedAbility() == this)
+            player.refreshHotbar();
+    }
+
+    @Override
+    public void onExpire(@NotNull IGamePlayer player) {
+        if (player.getSelectedAbility() != this)
+            return;
+
+        onCooldownEnd(player);
+        if (player.isOnline())
+            player.refreshHotbar();
+    }
+
+    /**
+     * Hotbar items only depend on the remaining seconds of the cooldown, so they are
+     * rendered once per value and copied afterward.
+     */
     @Override
     public @NotNull ItemStack buildHotBarItem(IGamePlayer player) {
-        final var lore = new ArrayList<String>();
+        final int remaining = isOnCooldown(player) ? getRemainingCooldown(player) : -1;
+        final int index = remaining + 1; // 0 is the "ready" item
+        if (index >= hotBarItems.length)
+            return renderHotBarItem(remaining);
+
+        var item = hotBarItems[index];
+        if (item == null)
+            item = hotBarItems[index] = renderHotBarItem(remaining);
+        return item.clone();
+    }
+
+    /**
+     * @param remaining the remaining seconds of the cooldown, or -1 if the ability is ready
+     */
+    private @NotNull ItemStack renderHotBarItem(int remaining) {
+        final var chat = BukkitUtils.chat();
+        final var lore = new ArrayList<Component>();
         final Material material;
 
-        if (isOnCooldown(player)) {
+        if (remaining >= 0) {
             material = Material.BARRIER;
-            int remaining = getRemainingCooldown(player);
-            lore.add("[red]<accent>⌚ <text>Cooldown: <base>" + remaining + "s");
+            lore.add(chat.format("[red]<accent>⌚ <text>Cooldown: <base>" + remaining + "s", Colors.INDIGO));
         } else {
             material = getIcon();
             if (getType() == AbilityType.PASSIVE) {
-                lore.add("[green]<accent>✔ <text>Ready to use!");
+                lore.add(chat.format("[green]<accent>✔ <text>Ready to use!", Colors.INDIGO));
             } else {
-                lore.add("[green]<accent>✔ <base>Ready to use!<text> Right-click or drop your weapon.");
+                lore.add(chat.format("[green]<accent>✔ <base>Ready to use!<text> Right-click or drop your weapon.", Colors.INDIGO));
             }
         }
 
-        lore.add("");
-        for (String line : getDescription())
-            lore.add("<text><i>" + line);
+        lore.add(Component.empty());
+        if (renderedDescription == null) {
+            final var rendered = new ArrayList<Component>();
+            for (String line : getDescription())
+                rendered.add(chat.format("<text><i>" + line, Colors.INDIGO));
+            renderedDescription = List.copyOf(rendered);
+        }
+        lore.addAll(renderedDescription);
 
         final var builder = new ItemBuilder(material)
                 .cleanLore()
                 .noMovement()
                 .setCustomData(Keys.ABILITY_KEY, PersistentDataType.STRING, getId())
-                .lore(Colors.INDIGO, lore)
+                .lore(lore)
                 .name(getDisplayName());
 
         return builder.getItem();
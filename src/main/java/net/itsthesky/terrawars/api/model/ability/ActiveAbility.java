@@ -2,6 +2,7 @@ package net.itsthesky.terrawars.api.model.ability;
 
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.core.impl.game.Game;
 import org.bukkit.Material;
 import org.jetbrains.annotations.NotNull;
 
@@ -15,13 +16,19 @@ public abstract class ActiveAbility extends AbstractAbility {
     public boolean use(IGamePlayer player, @NotNull IGame game) {
         if (isOnCooldown(player) && !shouldIgnoreCooldown(player))
             return false;
-        
-        if (execute(player, game)) {
-            startCooldown(player);
-            return true;
-        }
 
-        return false;
+        final long start = System.nanoTime();
+        try {
+            if (execute(player, game)) {
+                startCooldown(player);
+                return true;
+            }
+
+            return false;
+        } finally {
+            if (game instanceof Game gameImpl)
+                gameImpl.getMetrics().record("ability:" + getId(), System.nanoTime() - start);
+        }
     }
     
     protected abstract boolean execute(@NotNull IGamePlayer player, @NotNull IGame game);
@@ -1,30 +1,30 @@
 package net.itsthesky.terrawars.api.model.ability;
 
-import net.itsthesky.terrawars.TerraWars;
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.core.impl.game.AbilityContext;
+import net.itsthesky.terrawars.core.impl.game.Game;
 import net.itsthesky.terrawars.util.BukkitUtils;
 import org.bukkit.Material;
-import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 public abstract class PassiveAbility extends AbstractAbility {
 
-    private final Map<UUID, PassiveAbilityListener> activeListeners = new HashMap<>();
+    private final AbilityContext.Key<PassiveAbilityListener> listenerKey;
 
     protected PassiveAbility(String id, Material icon, String displayName, List<String> description, int cooldownSeconds) {
         super(id, icon, displayName, description, cooldownSeconds, AbilityType.PASSIVE);
+        this.listenerKey = AbilityContext.Key.create(id + ":listener", PassiveAbilityListener.class,
+                PassiveAbility::release);
     }
 
     /**
      * Registers a listener for this ability when a player selects it.
-     * Each player gets their own listener instance.
+     * Each player gets their own listener instance, stored in the game's ability context
+     * so it's released when the game is cleaned up.
      *
      * @param player The game player who selected this ability
      * @param game The game instance
@@ -35,10 +35,10 @@ public abstract class PassiveAbility extends AbstractAbility {
 
         // Create a new listener for this player
         final PassiveAbilityListener listener = createListener(player, game);
-        activeListeners.put(player.getPlayer().getUniqueId(), listener);
+        ((Game) game).getAbilityContext().put(listenerKey, player, listener);
 
-        // Register the listener with Bukkit
-        BukkitUtils.registerListener(listener);
+        // Route the player's events to the listener
+        BukkitUtils.subscribe(player.getPlayer().getUniqueId(), listener);
     }
 
     /**
@@ -47,21 +47,14 @@ public abstract class PassiveAbility extends AbstractAbility {
      * @param player The game player who deselected this ability
      */
     public void unregisterListener(@NotNull IGamePlayer player) {
-        final PassiveAbilityListener listener = activeListeners.remove(player.getPlayer().getUniqueId());
-        if (listener != null) {
-            HandlerList.unregisterAll(listener);
-        }
+        final PassiveAbilityListener listener = ((Game) player.getGame()).getAbilityContext().remove(listenerKey, player);
+        if (listener != null)
+            release(listener);
     }
 
-    /**
-     * Unregisters all listeners for this ability.
-     * Should be called when the game ends.
-     */
-    public void unregisterAllListeners() {
-        for (PassiveAbilityListener listener : activeListeners.values()) {
-            HandlerList.unregisterAll(listener);
-        }
-        activeListeners.clear();
+    private static void release(@NotNull PassiveAbilityListener listener) {
+        BukkitUtils.unsubscribe(listener);
+        listener.onUnregister();
     }
 
     /**
@@ -78,6 +71,12 @@ public abstract class PassiveAbility extends AbstractAbility {
      * All passive abilities should implement their own listener class.
      */
     protected interface PassiveAbilityListener extends Listener {
-        // Marker interface
+
+        /**
+         * Called once the listener has been unsubscribed, to release what it holds
+         * outside the event router (tasks, territory watches, ...).
+         */
+        default void onUnregister() {
+        }
     }
 }
\ No newline at end of file
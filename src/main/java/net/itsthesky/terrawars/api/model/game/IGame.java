@@ -14,6 +14,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a (running) game of TerraWars.
@@ -139,9 +140,12 @@ public interface IGame {
     void removePlayer(@NotNull Player player);
 
     /**
-     * Cleanup the game by removing any game-related entities.
+     * Cleanup the game by removing any game-related entities, and restore
+     * the blocks placed during the game. Blocks are restored over several ticks,
+     * so the map may not be ready to host a new game right away.
+     * @return a future completed once the map has been fully restored
      */
-    void cleanupGame();
+    @NotNull CompletableFuture<Void> cleanupGame();
 
     void broadcastMessage(@NotNull IChatService.MessageSeverity severity, @NotNull String message, @Nullable IGameTeam specificTeam,
                           @Nullable OfflinePlayer sender);
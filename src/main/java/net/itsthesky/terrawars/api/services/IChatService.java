@@ -276,6 +276,23 @@ public interface IChatService {
      */
     @NotNull Component format(@NotNull String message, @NotNull List<TextColor> scheme, @NotNull TagResolver... tagResolvers);
 
+    /**
+     * Get the statistics of the cache of formatted messages.
+     * <br>
+     * Messages formatted without any extra {@link TagResolver} are parsed once
+     * per (message, scheme) pair, and then served from this cache.
+     * @return the cache statistics
+     */
+    @NotNull FormatCacheStats getFormatCacheStats();
+
+    record FormatCacheStats(long hits, long misses, int size) {
+
+        public double hitRatio() {
+            final long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
     /**
      * Convert a rich {@link Component} to a simple string.
      * @param message the message to unformat
@@ -0,0 +1,79 @@
+package net.itsthesky.terrawars.api.services;
+
+import net.itsthesky.terrawars.api.model.ability.IAbility;
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Central storage of the abilities' cooldowns.
+ * <br>
+ * Cooldowns are counted in server ticks. A single timing wheel notifies the
+ * {@link CooldownListener listener} of a cooldown each time its remaining whole seconds
+ * change, and once it expires, so nothing has to poll the cooldowns.
+ */
+public interface ICooldownService {
+
+    /**
+     * Start (or restart) the cooldown of an ability for a player.
+     * @param player the player
+     * @param ability the ability
+     * @param durationTicks the duration of the cooldown, in ticks
+     * @param listener the listener of this cooldown
+     */
+    void start(@NotNull IGamePlayer player, @NotNull IAbility ability, int durationTicks,
+               @NotNull CooldownListener listener);
+
+    /**
+     * Cancel the cooldown of an ability for a player, without notifying its listener.
+     * @param player the player
+     * @param ability the ability
+     */
+    void cancel(@NotNull IGamePlayer player, @NotNull IAbility ability);
+
+    /**
+     * Forget every cooldown of a player, without notifying their listeners, once the player
+     * left their game. The storage used for the player is reused for the next players.
+     * @param player the player
+     */
+    void release(@NotNull IGamePlayer player);
+
+    /**
+     * @param player the player
+     * @param ability the ability
+     * @return the remaining ticks of the cooldown, or 0 if the ability isn't on cooldown
+     */
+    int getRemainingTicks(@NotNull IGamePlayer player, @NotNull IAbility ability);
+
+    default boolean isOnCooldown(@NotNull IGamePlayer player, @NotNull IAbility ability) {
+        return getRemainingTicks(player, ability) > 0;
+    }
+
+    /**
+     * @param player the player
+     * @param ability the ability
+     * @return the remaining whole seconds of the cooldown, as displayed to the player
+     */
+    default int getRemainingSeconds(@NotNull IGamePlayer player, @NotNull IAbility ability) {
+        return getRemainingTicks(player, ability) / 20;
+    }
+
+    /**
+     * Notified about the progress of a single cooldown.
+     */
+    interface CooldownListener {
+
+        /**
+         * Called each time the remaining whole seconds of the cooldown change.
+         * @param player the player
+         * @param remainingSeconds the new remaining seconds
+         */
+        default void onSecondChange(@NotNull IGamePlayer player, int remainingSeconds) {
+        }
+
+        /**
+         * Called once the cooldown is over.
+         * @param player the player
+         */
+        void onExpire(@NotNull IGamePlayer player);
+    }
+}
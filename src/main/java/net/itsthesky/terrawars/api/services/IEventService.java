@@ -0,0 +1,47 @@
+package net.itsthesky.terrawars.api.services;
+
+import net.itsthesky.terrawars.api.model.game.IGame;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Central event router for every game-related {@link Listener listener}.
+ * <br>
+ * Instead of registering one Bukkit listener per player, nexus, shop entity or ability,
+ * objects subscribe under a key (a player/entity UUID or a {@link IGame game}). The router
+ * registers a single Bukkit handler per event type and priority, and only forwards each event
+ * to the subscribers whose key is involved in that event.
+ * <br>
+ * The {@link org.bukkit.event.EventHandler @EventHandler} annotations of the subscribed
+ * listeners are honored (priority and <code>ignoreCancelled</code>).
+ */
+public interface IEventService {
+
+    /**
+     * Subscribe a listener under an entity key. The listener will only receive
+     * events in which the entity (or player) with the given UUID is involved, either
+     * as the event's main entity/player, the damager, the clicked entity, etc.
+     * @param entityId the UUID of the entity (or player) to listen for
+     * @param listener the listener to subscribe
+     */
+    void subscribe(@NotNull UUID entityId, @NotNull Listener listener);
+
+    /**
+     * Subscribe a listener under a game key. The listener will receive events involving
+     * any player of that game, or, when no player of any game is involved, events
+     * happening in the game's world.
+     * @param game the game to listen for
+     * @param listener the listener to subscribe
+     */
+    void subscribe(@NotNull IGame game, @NotNull Listener listener);
+
+    /**
+     * Remove every subscription of the given listener. Does nothing if the listener
+     * was not subscribed.
+     * @param listener the listener to unsubscribe
+     */
+    void unsubscribe(@NotNull Listener listener);
+
+}
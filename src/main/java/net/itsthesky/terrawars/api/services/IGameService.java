@@ -27,4 +27,21 @@ public interface IGameService {
     @NotNull IGame createGame(@NotNull GameConfig config);
 
     @Nullable IGame getPlayerGame(@NotNull UUID playerId);
+
+    /**
+     * Index the given player as being part of the given game, so that
+     * {@link #getPlayerGame(UUID)} can find it in constant time.
+     * This is called by the game itself when a player joins it.
+     * @param playerId the player's UUID
+     * @param game the game the player is now part of
+     */
+    void trackPlayer(@NotNull UUID playerId, @NotNull IGame game);
+
+    /**
+     * Remove the given player from the index, if it is still tracked as part of the given game.
+     * This is called by the game itself when a player leaves it or when it is cleaned up.
+     * @param playerId the player's UUID
+     * @param game the game the player is leaving
+     */
+    void untrackPlayer(@NotNull UUID playerId, @NotNull IGame game);
 }
@@ -0,0 +1,88 @@
+package net.itsthesky.terrawars.api.services;
+
+import net.itsthesky.terrawars.api.model.game.IGame;
+import net.itsthesky.terrawars.util.ParticleShape;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Central emitter for the particles of the games.
+ * <br>
+ * Particles are only sent to the players of the given game that are within
+ * {@link #VIEW_RANGE} blocks of the emission. Every particle sent to a viewer counts
+ * against a global per-tick budget: past half of the budget, shapes are thinned and
+ * counts halved, and emissions that would exceed it are dropped.
+ */
+public interface IParticleService {
+
+    int VIEW_RANGE = 48;
+
+    /**
+     * Spawn particles for the players of a game, like {@link org.bukkit.World#spawnParticle}.
+     * @param game the game whose players can see the particles
+     * @param particle the particle
+     * @param location the location of the particles
+     * @param count the number of particles
+     * @param offsetX the maximum random offset on the X axis
+     * @param offsetY the maximum random offset on the Y axis
+     * @param offsetZ the maximum random offset on the Z axis
+     * @param extra the extra data of the particle, usually its speed
+     * @param data the data of the particle (e.g. {@link Particle.DustOptions}), can be null
+     */
+    void spawn(@NotNull IGame game, @NotNull Particle particle, @NotNull Location location, int count,
+               double offsetX, double offsetY, double offsetZ, double extra, @Nullable Object data);
+
+    default void spawn(@NotNull IGame game, @NotNull Particle particle, @NotNull Location location, int count,
+                       double offsetX, double offsetY, double offsetZ, double extra) {
+        spawn(game, particle, location, count, offsetX, offsetY, offsetZ, extra, null);
+    }
+
+    /**
+     * Spawn particles on each point of a precomputed shape.
+     * @param game the game whose players can see the particles
+     * @param particle the particle
+     * @param shape the shape
+     * @param center the center of the shape
+     * @param countPerPoint the number of particles spawned on each point
+     * @param spreadX the maximum random offset around each point, on the X axis
+     * @param spreadY the maximum random offset around each point, on the Y axis
+     * @param spreadZ the maximum random offset around each point, on the Z axis
+     * @param data the data of the particle (e.g. {@link Particle.DustOptions}), can be null
+     */
+    void spawnShape(@NotNull IGame game, @NotNull Particle particle, @NotNull ParticleShape shape,
+                    @NotNull Location center, int countPerPoint, double spreadX, double spreadY, double spreadZ,
+                    @Nullable Object data);
+
+    default void spawnShape(@NotNull IGame game, @NotNull Particle particle, @NotNull ParticleShape shape,
+                            @NotNull Location center, @Nullable Object data) {
+        spawnShape(game, particle, shape, center, 1, 0, 0, 0, data);
+    }
+
+    /**
+     * Get a shared {@link Particle.DustOptions} instance, created once per color and size.
+     * @param color the color of the dust
+     * @param size the size of the dust
+     * @return the dust options
+     */
+    @NotNull Particle.DustOptions dust(@NotNull Color color, float size);
+
+    /**
+     * @return the maximum number of particles sent to players per tick
+     */
+    int getBudgetPerTick();
+
+    void setBudgetPerTick(int budgetPerTick);
+
+    @NotNull ParticleStats getStats();
+
+    /**
+     * @param sent the number of particles sent to players
+     * @param thinned the number of emissions reduced because of the load
+     * @param dropped the number of emissions dropped because the budget was exhausted
+     */
+    record ParticleStats(long sent, long thinned, long dropped) {
+    }
+}
@@ -3,12 +3,19 @@ package net.itsthesky.terrawars.api.services;
 import org.bukkit.Location;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service related to pasting schematics. The main
  * implementation will be used WE/FAWE system.
  */
 public interface ISchemService {
 
+    /**
+     * Name of the schematic pasted on biome nodes that are not owned by any team.
+     */
+    String NEUTRAL_SCHEMATIC = "neutral.schem";
+
     /**
      * Pastes a schematic at the given location.
      * The schematics' name must match a file located at <code>plugins/TerraWars/schematics/</code>.
@@ -20,4 +27,26 @@ public interface ISchemService {
     void pasteSchematic(@NotNull String name, @NotNull Location location,
                         boolean ignoreAir);
 
+    /**
+     * Pastes a schematic at the given location, without blocking the server thread:
+     * the schematic is read and pasted asynchronously through FAWE's queue.
+     * <br>
+     * The returned future is always completed <b>on the server thread</b>, so follow-up
+     * work (changing ownership, spawning particles, ...) can be chained directly. It
+     * completes exceptionally if the schematic doesn't exist or couldn't be pasted.
+     * @param name the name of the schematic to paste
+     * @param location the location where the schematic will be pasted
+     * @return a future completed once the schematic has been pasted
+     * @see #pasteSchematic(String, Location, boolean)
+     */
+    @NotNull CompletableFuture<Void> pasteSchematicAsync(@NotNull String name, @NotNull Location location,
+                                                         boolean ignoreAir);
+
+    /**
+     * Drop every cached schematic, so they get read again from the disk on their next paste.
+     * Cached schematics are already reloaded when their file is modified, so this is mostly
+     * useful to free memory.
+     */
+    void invalidateCache();
+
 }
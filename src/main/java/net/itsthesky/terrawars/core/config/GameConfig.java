@@ -40,6 +40,70 @@ public class GameConfig {
     @SerializedName("death_cooldown")
     private int deathCooldown = 5;
 
+    /**
+     * Whether placed blocks should also be written into the chunks' persistent data,
+     * so they can be recovered (and removed) after a crash. Placed blocks are always
+     * tracked in memory, this is only a safety net and costs a chunk write per block.
+     */
+    @SerializedName("persist_placed_blocks")
+    private boolean persistPlacedBlocks = false;
+
+    /**
+     * Maximum time, in milliseconds, spent each tick restoring the placed blocks once the game is over.
+     */
+    @SerializedName("reset_budget_ms")
+    private int resetBudgetMs = 5;
+
+    /**
+     * Whether generators keep their pending drops as counters, displayed by a single item
+     * entity per material, instead of spawning one item entity per drop.
+     */
+    @SerializedName("virtual_generator_stacks")
+    private boolean virtualGeneratorStacks = true;
+
+    /**
+     * Whether generator and nexus displays are only sent as packets to the nearby players
+     * of the game, instead of being spawned as server-side entities.
+     */
+    @SerializedName("packet_holograms")
+    private boolean packetHolograms = true;
+
+    /**
+     * Lowest and highest Y (both inclusive) at which players can place blocks.
+     */
+    @SerializedName("build_min_y")
+    private int buildMinY = 111;
+    @SerializedName("build_max_y")
+    private int buildMaxY = 154;
+
+    /**
+     * Radius, in blocks, of the areas where players cannot build. A negative radius
+     * disables the protection of that kind of area.
+     */
+    @SerializedName("nexus_protection_radius")
+    private int nexusProtectionRadius = 3;
+    @SerializedName("spawn_protection_radius")
+    private int spawnProtectionRadius = 2;
+    @SerializedName("shop_protection_radius")
+    private int shopProtectionRadius = 2;
+    @SerializedName("generator_protection_radius")
+    private int generatorProtectionRadius = 1;
+
+    /**
+     * Radius, in blocks, of the territory of a team around its nexus, and of the territory
+     * a team gains around each biome node it captures.
+     */
+    @SerializedName("territory_radius")
+    private int territoryRadius = 24;
+    @SerializedName("node_territory_radius")
+    private int nodeTerritoryRadius = 8;
+
+    /**
+     * Players going below this Y are killed.
+     */
+    @SerializedName("void_y")
+    private int voidY = 115;
+
     private transient Runnable saveRunnable;
     public void save() {
         if (saveRunnable != null)
@@ -0,0 +1,31 @@
+package net.itsthesky.terrawars.core.events.game;
+
+import lombok.Getter;
+import net.itsthesky.terrawars.api.model.game.IGame;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This event is called once the blocks placed during a game have all been
+ * restored, meaning the map can host a new game.
+ */
+@Getter
+public class GameMapResetEvent extends GameEvent {
+
+    private final int restoredBlocks;
+
+    public GameMapResetEvent(IGame game, int restoredBlocks) {
+        super(game);
+        this.restoredBlocks = restoredBlocks;
+    }
+
+    private final static HandlerList handlers = new HandlerList();
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static HandlerList getHandlerList() {
+        return handlers;
+    }
+}
@@ -3,22 +3,20 @@ package net.itsthesky.terrawars.core.impl.ability.badlands;
 import net.itsthesky.terrawars.api.model.ability.PassiveAbility;
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.model.game.IGameTeam;
 import net.itsthesky.terrawars.api.services.IChatService;
 import net.itsthesky.terrawars.core.impl.game.Game;
-import org.bukkit.Location;
+import net.itsthesky.terrawars.core.impl.game.TerritoryGrid;
 import org.bukkit.Material;
 import org.bukkit.Sound;
-import org.bukkit.block.Biome;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 public class EarthyCamouflageAbility extends PassiveAbility {
@@ -26,11 +24,6 @@ public class EarthyCamouflageAbility extends PassiveAbility {
     private static final float DAMAGE_REDUCTION = 0.75f; // 75% damage reduction
     private static final int DAMAGE_REDUCTION_COOLDOWN = 30; // 30 seconds
 
-    // Valid badlands/mesa biomes
-    private static final Set<Biome> BADLANDS_BIOMES = Set.of(
-            Biome.BADLANDS, Biome.ERODED_BADLANDS, Biome.WOODED_BADLANDS
-    );
-
     public EarthyCamouflageAbility() {
         super("badlands_earthy_camouflage", Material.ORANGE_CONCRETE_POWDER, "Earthy Camouflage",
                 List.of(
@@ -45,47 +38,48 @@ public class EarthyCamouflageAbility extends PassiveAbility {
         return new CamouflageListener(player, game);
     }
 
-    private class CamouflageListener implements PassiveAbilityListener {
+    private class CamouflageListener implements PassiveAbilityListener, TerritoryGrid.ZoneListener {
         private final UUID playerUuid;
-        private final IGame game;
-        private boolean isInBiome = false;
+        private final Game game;
+        private final TerritoryGrid.Watch watch;
 
         public CamouflageListener(IGamePlayer player, IGame game) {
             this.playerUuid = player.getPlayer().getUniqueId();
-            this.game = game;
+            this.game = (Game) game;
+            this.watch = this.game.getTerritoryGrid().watch(player, this);
         }
 
-        @EventHandler
-        public void onPlayerMove(PlayerMoveEvent event) {
-            final Player player = event.getPlayer();
-            if (!player.getUniqueId().equals(playerUuid)) return;
+        @Override
+        public void onEnter(@NotNull IGamePlayer gamePlayer, @NotNull IGameTeam territory) {
+            if (territory != gamePlayer.getTeam()) return;
+
+            final Player player = gamePlayer.getPlayer();
+            player.addPotionEffect(new PotionEffect(
+                    PotionEffectType.SPEED,
+                    Integer.MAX_VALUE,
+                    1, // Speed II
+                    false,
+                    false,
+                    true
+            ));
+            player.playSound(player.getLocation(), Sound.BLOCK_SAND_STEP, 0.5f, 1.0f);
+            game.getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
+                    "Earthy Camouflage activated! You feel faster in your natural environment.");
+        }
 
-            final IGamePlayer gamePlayer = game.findGamePlayer(player);
-            if (gamePlayer == null) return;
+        @Override
+        public void onLeave(@NotNull IGamePlayer gamePlayer, @NotNull IGameTeam territory) {
+            if (territory != gamePlayer.getTeam()) return;
 
-            final boolean wasInBiome = isInBiome;
-            isInBiome = isInBadlandsBiome(player.getLocation(), gamePlayer);
-
-            // If player just entered their biome
-            if (!wasInBiome && isInBiome) {
-                player.addPotionEffect(new PotionEffect(
-                        PotionEffectType.SPEED,
-                        Integer.MAX_VALUE,
-                        1, // Speed II
-                        false,
-                        false,
-                        true
-                ));
-                player.playSound(player.getLocation(), Sound.BLOCK_SAND_STEP, 0.5f, 1.0f);
-                ((Game) game).getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
-                        "Earthy Camouflage activated! You feel faster in your natural environment.");
-            }
-            // If player just left their biome
-            else if (wasInBiome && !isInBiome) {
-                player.removePotionEffect(PotionEffectType.SPEED);
-                ((Game) game).getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
-                        "Earthy Camouflage deactivated. You've left your biome territory.");
-            }
+            final Player player = gamePlayer.getPlayer();
+            player.removePotionEffect(PotionEffectType.SPEED);
+            game.getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
+                    "Earthy Camouflage deactivated. You've left your biome territory.");
+        }
+
+        @Override
+        public void onUnregister() {
+            watch.cancel();
         }
 
         @EventHandler
@@ -97,7 +91,7 @@ public class EarthyCamouflageAbility extends PassiveAbility {
             if (gamePlayer == null) return;
 
             // Check if player is in their biome
-            if (!isInBadlandsBiome(player.getLocation(), gamePlayer)) return;
+            if (!game.getTerritoryGrid().isInTerritory(player.getLocation(), gamePlayer.getTeam())) return;
 
             // Check if damage reduction is on cooldown
             if (isOnCooldown(gamePlayer))
@@ -115,23 +109,12 @@ public class EarthyCamouflageAbility extends PassiveAbility {
             player.getWorld().playSound(player.getLocation(), Sound.BLOCK_SAND_BREAK, 1.0f, 0.5f);
 
             // Notify player
-            ((Game) game).getChatService().sendMessage(player, IChatService.MessageSeverity.SUCCESS,
+            game.getChatService().sendMessage(player, IChatService.MessageSeverity.SUCCESS,
                     "Your Earthy Camouflage absorbed <accent>" +
                             String.format("%.1f", originalDamage - reducedDamage) + "/" +
                             String.format("%.1f", originalDamage) +
                             "<text> damage!");
         }
-
-        private boolean isInBadlandsBiome(Location location, IGamePlayer gamePlayer) {
-            // First check if they're in their own team's territory
-            if (gamePlayer.getTeam() != null &&
-                    gamePlayer.getTeam().getBiome().getId().equals("badlands")) {
-                return true;
-            }
-
-            // Alternatively check actual world biome (for natural badlands)
-            return BADLANDS_BIOMES.contains(location.getBlock().getBiome());
-        }
     }
 
     @Override
@@ -5,9 +5,8 @@ import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.services.IChatService;
 import net.itsthesky.terrawars.core.impl.game.Game;
+import net.itsthesky.terrawars.core.impl.game.PlayerSpatialGrid;
 import org.bukkit.*;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
@@ -46,7 +45,7 @@ public class DragonBreathAbility extends ActiveAbility {
         }
 
         // Find nearby entities in the player's line of sight
-        final List<LivingEntity> targets = findTargets(player, gamePlayer);
+        final List<Player> targets = findTargets(game, player, gamePlayer);
 
         if (targets.isEmpty()) {
             game.getChatService().sendMessage(player, IChatService.MessageSeverity.WARNING,
@@ -58,11 +57,11 @@ public class DragonBreathAbility extends ActiveAbility {
         player.getWorld().playSound(playerLocation, Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 1.2f);
 
         // Create breath particle effect
-        createBreathEffect(playerLocation, direction);
+        createBreathEffect(game, playerLocation, direction);
 
         // Apply effects to targets
         int affectedCount = 0;
-        for (LivingEntity target : targets) {
+        for (Player target : targets) {
             if (affectedCount >= MAX_TARGETS) {
                 break;
             }
@@ -72,21 +71,14 @@ public class DragonBreathAbility extends ActiveAbility {
             target.addPotionEffect(new PotionEffect(PotionEffectType.SLOWNESS, SLOW_DURATION, SLOW_AMPLIFIER));
 
             // Create particles on the target
-            target.getWorld().spawnParticle(
+            game.getParticleService().spawn(game,
                     Particle.DRAGON_BREATH,
                     target.getLocation().add(0, 1, 0),
                     20, 0.5, 0.5, 0.5, 0.05
             );
 
-            // If it's a player, send them a message
-            if (target instanceof Player targetPlayer) {
-                final var targetGamePlayer = game.findGamePlayer(targetPlayer);
-
-                if (targetGamePlayer != null) {
-                    game.getChatService().sendMessage(targetPlayer, IChatService.MessageSeverity.ERROR,
-                            "You've been hit by <accent>" + player.getName() + "<text>'s Dragon Breath!");
-                }
-            }
+            game.getChatService().sendMessage(target, IChatService.MessageSeverity.ERROR,
+                    "You've been hit by <accent>" + player.getName() + "<text>'s Dragon Breath!");
 
             affectedCount++;
         }
@@ -99,56 +91,23 @@ public class DragonBreathAbility extends ActiveAbility {
         return true;
     }
 
-    private List<LivingEntity> findTargets(Player player, IGamePlayer gamePlayer) {
-        final List<LivingEntity> potentialTargets = new ArrayList<>();
+    private List<Player> findTargets(Game game, Player player, IGamePlayer gamePlayer) {
         final Location playerLocation = player.getLocation();
-        final Vector direction = playerLocation.getDirection();
-
-        // Get all entities in radius
-        final List<Entity> nearbyEntities = player.getNearbyEntities(RADIUS, RADIUS, RADIUS);
-
-        for (Entity entity : nearbyEntities) {
-            // Skip non-living entities
-            if (!(entity instanceof LivingEntity livingEntity)) {
-                continue;
-            }
-
-            // Skip allies
-            if (entity instanceof Player targetPlayer) {
-                final var targetGamePlayer = gamePlayer.getGame().findGamePlayer(targetPlayer);
 
-                // Skip if the player is on the same team
-                if (targetGamePlayer != null && targetGamePlayer.getTeam() == gamePlayer.getTeam()) {
-                    continue;
-                }
-            }
-
-            // Check if entity is roughly in front of the player (in a cone)
-            Vector toEntity = entity.getLocation().toVector().subtract(playerLocation.toVector());
-
-            if (toEntity.length() <= RADIUS) {
-                // Normalize both vectors for the angle calculation
-                toEntity = toEntity.normalize();
-                Vector playerDir = direction.clone().normalize();
-
-                // Calculate the angle between the player's look direction and the entity
-                double angle = Math.toDegrees(Math.acos(toEntity.dot(playerDir)));
-
-                // If the entity is within a 60-degree cone in front of the player
-                if (angle <= 60) {
-                    potentialTargets.add(livingEntity);
-                }
-            }
-        }
+        // Enemies within a 60-degree cone in front of the player
+        final List<Player> potentialTargets = new ArrayList<>();
+        for (IGamePlayer target : game.getPlayerGrid().findInCone(playerLocation, playerLocation.getDirection(),
+                RADIUS, 60, PlayerSpatialGrid.Relation.ENEMY, gamePlayer.getTeam()))
+            potentialTargets.add(target.getPlayer());
 
         // Sort by distance to player (closest first)
-        potentialTargets.sort(Comparator.comparingDouble(entity ->
-                entity.getLocation().distanceSquared(playerLocation)));
+        potentialTargets.sort(Comparator.comparingDouble(target ->
+                target.getLocation().distanceSquared(playerLocation)));
 
         return potentialTargets;
     }
 
-    private void createBreathEffect(Location startLocation, Vector direction) {
+    private void createBreathEffect(Game game, Location startLocation, Vector direction) {
         final Vector normalizedDir = direction.clone().normalize();
         final Location particleLocation = startLocation.clone().add(0, 1.5, 0); // Start at eye level
 
@@ -168,7 +127,7 @@ public class DragonBreathAbility extends ActiveAbility {
                 final Location loc = particleLocation.clone().add(offset);
 
                 // Spawn dragon breath particles
-                loc.getWorld().spawnParticle(
+                game.getParticleService().spawn(game,
                         Particle.DRAGON_BREATH,
                         loc,
                         3, 0.1, 0.1, 0.1, 0.01
@@ -177,7 +136,7 @@ public class DragonBreathAbility extends ActiveAbility {
         }
 
         // Add some dust particles for effect
-        Particle.DustOptions dustOptions = new Particle.DustOptions(
+        final Particle.DustOptions dustOptions = game.getParticleService().dust(
                 Color.fromRGB(128, 0, 128), // Purple color
                 1.5f // Size
         );
@@ -186,7 +145,7 @@ public class DragonBreathAbility extends ActiveAbility {
             final Vector offset = normalizedDir.clone().multiply(i);
             final Location loc = particleLocation.clone().add(offset);
 
-            loc.getWorld().spawnParticle(
+            game.getParticleService().spawn(game,
                     Particle.DUST,
                     loc,
                     5, 0.2, 0.2, 0.2, 0,
@@ -5,7 +5,9 @@ import net.itsthesky.terrawars.api.model.ability.PassiveAbility;
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.core.impl.game.AbilityContext;
 import net.itsthesky.terrawars.core.impl.game.Game;
+import net.itsthesky.terrawars.core.impl.game.GameTicker;
 import net.itsthesky.terrawars.util.BukkitUtils;
 import net.itsthesky.terrawars.util.Colors;
 import net.itsthesky.terrawars.util.ItemBuilder;
@@ -21,7 +23,6 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.LeatherArmorMeta;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -36,7 +37,8 @@ public class RiftTeleportationAbility extends PassiveAbility {
 
     private static final NamespacedKey RIFT_GUN_KEY = new NamespacedKey(Keys.NAMESPACE, "rift_gun");
 
-    private final Map<UUID, List<PortalInstance>> playerPortals = new HashMap<>();
+    private static final AbilityContext.Key<PlayerPortals> PORTALS_KEY =
+            AbilityContext.Key.create("end_rift_teleportation:portals", PlayerPortals.class, PlayerPortals::destroy);
 
     public RiftTeleportationAbility() {
         super("end_rift_teleportation", Material.ENDER_PEARL, "Rift Teleportation",
@@ -63,10 +65,9 @@ public class RiftTeleportationAbility extends PassiveAbility {
         super.onDeselect(player);
 
         // Remove Rift Gun and portals
-        if (player.isOnline()) {
+        if (player.isOnline())
             removeRiftGun(player.getPlayer());
-            removeAllPortals(player.getPlayer().getUniqueId());
-        }
+        removeAllPortals(player);
     }
 
     private void giveRiftGun(Player player) {
@@ -112,13 +113,36 @@ public class RiftTeleportationAbility extends PassiveAbility {
         }
     }
 
-    private void removeAllPortals(UUID playerId) {
-        List<PortalInstance> portals = playerPortals.get(playerId);
-        if (portals != null) {
-            for (PortalInstance portal : portals) {
-                portal.destroy();
+    private void removeAllPortals(IGamePlayer player) {
+        final PlayerPortals portals = ((Game) player.getGame()).getAbilityContext().remove(PORTALS_KEY, player);
+        if (portals != null)
+            portals.destroy();
+    }
+
+    /**
+     * @return the first portal of the game (of any player) close to the location, or null if none
+     */
+    private static PortalInstance findPortalNear(AbilityContext context, Location location) {
+        final PortalInstance[] found = new PortalInstance[1];
+        context.forEach(PORTALS_KEY, playerPortals -> {
+            for (PortalInstance portal : playerPortals.portals) {
+                if (found[0] == null && portal.getLocation().distance(location) < 2.0)
+                    found[0] = portal;
             }
-            playerPortals.remove(playerId);
+        });
+        return found[0];
+    }
+
+    /**
+     * The portals placed by a player, at most {@link #MAX_PORTALS}.
+     */
+    private static class PlayerPortals {
+        private final List<PortalInstance> portals = new ArrayList<>(MAX_PORTALS);
+
+        public void destroy() {
+            for (PortalInstance portal : portals)
+                portal.destroy();
+            portals.clear();
         }
     }
 
@@ -126,9 +150,9 @@ public class RiftTeleportationAbility extends PassiveAbility {
         private final Location location;
         @Getter
         private final ArmorStand armorStand;
-        private final BukkitTask particleTask;
+        private final GameTicker.TickHandle particleTask;
 
-        public PortalInstance(Location location) {
+        public PortalInstance(Game game, Location location) {
             this.location = location.clone();
 
             // Create armor stand for visual representation
@@ -153,18 +177,20 @@ public class RiftTeleportationAbility extends PassiveAbility {
             this.armorStand.getEquipment().setChestplate(chestplate);
 
             // Create particle effect
-            this.particleTask = BukkitUtils.runTaskTimer(() -> {
-                location.getWorld().spawnParticle(
+            final var portalLocation = location.clone().add(0, 1, 0);
+            final var rodLocation = location.clone().add(0, 1.5, 0);
+            this.particleTask = game.getTicker().schedule("rift_portal", PORTAL_PARTICLE_INTERVAL, () -> {
+                game.getParticleService().spawn(game,
                         Particle.PORTAL,
-                        location.clone().add(0, 1, 0),
+                        portalLocation,
                         10, 0.5, 1, 0.5, 0.01
                 );
-                location.getWorld().spawnParticle(
+                game.getParticleService().spawn(game,
                         Particle.END_ROD,
-                        location.clone().add(0, 1.5, 0),
+                        rodLocation,
                         3, 0.2, 0.5, 0.2, 0.01
                 );
-            }, 0, PORTAL_PARTICLE_INTERVAL);
+            });
         }
 
         public void destroy() {
@@ -217,57 +243,55 @@ public class RiftTeleportationAbility extends PassiveAbility {
             }
 
             // Initialize portal list if needed
-            List<PortalInstance> portals = playerPortals.computeIfAbsent(playerUuid, k -> new ArrayList<>());
-
-            // Check if player clicked on a portal
-            if (event.getAction() == Action.RIGHT_CLICK_AIR || event.getAction() == Action.RIGHT_CLICK_BLOCK) {
-                // Check for portals nearby
-                for (List<PortalInstance> playerPortalList : playerPortals.values()) {
-                    for (PortalInstance portal : playerPortalList) {
-                        // Check if player clicked on or near a portal
-                        if (portal.getLocation().distance(player.getLocation()) < 2.0) {
-                            // Find the other portal of this player
-                            PortalInstance targetPortal = null;
-                            for (PortalInstance playerPortal : portals) {
-                                if (playerPortal != portal) {
-                                    targetPortal = playerPortal;
-                                    break;
-                                }
-                            }
-
-                            // If there's a target portal, teleport
-                            if (targetPortal != null) {
-                                if (isOnCooldown(gamePlayer)) {
-                                    game.getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
-                                            "You need to wait before teleporting through the rift again!");
-                                    return;
-                                }
-                                // Teleport player
-                                final Location destination = targetPortal.getLocation().clone()
-                                        .setDirection(player.getLocation().getDirection());
-
-                                player.teleport(destination);
-
-                                // Effects
-                                player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
-                                player.getWorld().spawnParticle(
-                                        Particle.REVERSE_PORTAL,
-                                        player.getLocation(),
-                                        30, 0.5, 1, 0.5, 0.05
-                                );
-
-                                game.getChatService().sendMessage(player, IChatService.MessageSeverity.SUCCESS,
-                                        "Teleported through the rift!");
-                                startCooldown(gamePlayer);
-                                return;
-                            } else {
-                                game.getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
-                                        "You need a second portal to teleport!");
-                                return;
-                            }
-                        }
+            final var context = game.getAbilityContext();
+            PlayerPortals playerPortals = context.get(PORTALS_KEY, gamePlayer);
+            if (playerPortals == null) {
+                playerPortals = new PlayerPortals();
+                context.put(PORTALS_KEY, gamePlayer, playerPortals);
+            }
+            final List<PortalInstance> portals = playerPortals.portals;
+
+            // Check if player clicked on or near a portal
+            final PortalInstance portal = findPortalNear(context, player.getLocation());
+            if (portal != null) {
+                // Find the other portal of this player
+                PortalInstance targetPortal = null;
+                for (PortalInstance playerPortal : portals) {
+                    if (playerPortal != portal) {
+                        targetPortal = playerPortal;
+                        break;
                     }
                 }
+
+                // If there's a target portal, teleport
+                if (targetPortal != null) {
+                    if (isOnCooldown(gamePlayer)) {
+                        game.getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
+                                "You need to wait before teleporting through the rift again!");
+                        return;
+                    }
+                    // Teleport player
+                    final Location destination = targetPortal.getLocation().clone()
+                            .setDirection(player.getLocation().getDirection());
+
+                    player.teleport(destination);
+
+                    // Effects
+                    player.playSound(player.getLocation(), Sound.ENTITY_ENDERMAN_TELEPORT, 1.0f, 1.0f);
+                    game.getParticleService().spawn(game,
+                            Particle.REVERSE_PORTAL,
+                            player.getLocation(),
+                            30, 0.5, 1, 0.5, 0.05
+                    );
+
+                    game.getChatService().sendMessage(player, IChatService.MessageSeverity.SUCCESS,
+                            "Teleported through the rift!");
+                    startCooldown(gamePlayer);
+                } else {
+                    game.getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
+                            "You need a second portal to teleport!");
+                }
+                return;
             }
 
             // If not clicking on portal, create a new one (if we don't have max already)
@@ -288,7 +312,7 @@ public class RiftTeleportationAbility extends PassiveAbility {
                 }
 
                 // Create portal
-                final PortalInstance portal = new PortalInstance(portalLoc);
+                final PortalInstance portal = new PortalInstance(game, portalLoc);
                 portals.add(portal);
 
                 // Effects
@@ -322,7 +346,7 @@ public class RiftTeleportationAbility extends PassiveAbility {
             event.setCancelled(true);
 
             // Remove all portals
-            removeAllPortals(playerUuid);
+            removeAllPortals(gamePlayer);
 
             // Feedback
             player.playSound(player.getLocation(), Sound.BLOCK_PORTAL_TRAVEL, 0.5f, 2.0f);
@@ -3,38 +3,23 @@ package net.itsthesky.terrawars.core.impl.ability.mushroom;
 import net.itsthesky.terrawars.api.model.ability.PassiveAbility;
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.model.game.IGameTeam;
 import net.itsthesky.terrawars.api.services.IChatService;
 import net.itsthesky.terrawars.core.impl.game.Game;
-import net.itsthesky.terrawars.util.BukkitUtils;
-import org.bukkit.Location;
+import net.itsthesky.terrawars.core.impl.game.GameTicker;
+import net.itsthesky.terrawars.core.impl.game.TerritoryGrid;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
-import org.bukkit.block.Biome;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.player.PlayerMoveEvent;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
 
 public class SymbioticRegenerationAbility extends PassiveAbility {
 
     private static final double REGEN_AMOUNT = 1.0; // Half a heart per second
     private static final int REGEN_INTERVAL = 20; // Tick interval (1 second)
-    
-    private final Map<UUID, BukkitTask> regenTasks = new HashMap<>();
-    private final Map<UUID, Boolean> inBiomeStatus = new HashMap<>();
-    
-    // Valid mushroom biomes
-    private static final Set<Biome> MUSHROOM_BIOMES = Set.of(
-            Biome.MUSHROOM_FIELDS
-    );
 
     public SymbioticRegenerationAbility() {
         super("mushroom_symbiotic_regeneration", Material.BROWN_MUSHROOM, "Symbiotic Regeneration",
@@ -50,109 +35,68 @@ public class SymbioticRegenerationAbility extends PassiveAbility {
         return new RegenerationListener(player, game);
     }
 
-    private class RegenerationListener implements PassiveAbilityListener {
-        private final UUID playerUuid;
-        private final IGame game;
+    private class RegenerationListener implements PassiveAbilityListener, TerritoryGrid.ZoneListener {
+        private final Game game;
+        private final TerritoryGrid.Watch watch;
+        private final GameTicker.TickHandle regenTask;
+        private boolean inBiome;
 
         public RegenerationListener(IGamePlayer player, IGame game) {
-            this.playerUuid = player.getPlayer().getUniqueId();
-            this.game = game;
-            
-            // Initialize status
-            inBiomeStatus.put(playerUuid, false);
-            
+            this.game = (Game) game;
+            this.watch = this.game.getTerritoryGrid().watch(player, this);
+
             // Start regeneration task
-            startRegenTask(player);
+            this.regenTask = startRegenTask(player);
         }
 
-        @EventHandler
-        public void onPlayerMove(PlayerMoveEvent event) {
-            final Player player = event.getPlayer();
-            if (!player.getUniqueId().equals(playerUuid)) return;
+        @Override
+        public void onEnter(@NotNull IGamePlayer gamePlayer, @NotNull IGameTeam territory) {
+            if (territory != gamePlayer.getTeam()) return;
 
-            final IGamePlayer gamePlayer = game.findGamePlayer(player);
-            if (gamePlayer == null) return;
+            final Player player = gamePlayer.getPlayer();
+            inBiome = true;
+            game.getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
+                    "Symbiotic Regeneration activated! You'll regenerate <shade-red:500>0.5♥</shade-red> per second.");
 
-            final boolean wasInBiome = inBiomeStatus.getOrDefault(playerUuid, false);
-            final boolean isInBiome = isInMushroomBiome(player.getLocation(), gamePlayer);
-            
-            // Update status if changed
-            if (wasInBiome != isInBiome) {
-                inBiomeStatus.put(playerUuid, isInBiome);
-                
-                // Notify player
-                if (isInBiome) {
-                    ((Game) game).getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
-                            "Symbiotic Regeneration activated! You'll regenerate <shade-red:500>0.5♥</shade-red> per second.");
-                    
-                    // Visual effect
-                    player.getWorld().playSound(player.getLocation(), Sound.BLOCK_FUNGUS_PLACE, 0.5f, 1.2f);
-                } else {
-                    ((Game) game).getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
-                            "Symbiotic Regeneration deactivated. You've left your biome territory.");
-                }
-            }
+            // Visual effect
+            player.getWorld().playSound(player.getLocation(), Sound.BLOCK_FUNGUS_PLACE, 0.5f, 1.2f);
+        }
+
+        @Override
+        public void onLeave(@NotNull IGamePlayer gamePlayer, @NotNull IGameTeam territory) {
+            if (territory != gamePlayer.getTeam()) return;
+
+            inBiome = false;
+            game.getChatService().sendMessage(gamePlayer.getPlayer(), IChatService.MessageSeverity.INFO,
+                    "Symbiotic Regeneration deactivated. You've left your biome territory.");
+        }
+
+        @Override
+        public void onUnregister() {
+            watch.cancel();
+            regenTask.cancel();
         }
-        
-        private void startRegenTask(IGamePlayer gamePlayer) {
-            final UUID uuid = playerUuid;
-            
-            // Cancel existing task if any
-            if (regenTasks.containsKey(uuid)) {
-                regenTasks.get(uuid).cancel();
-            }
-            
-            // Create new regeneration task
-            BukkitTask task = BukkitUtils.runTaskTimer(() -> {
+
+        private GameTicker.TickHandle startRegenTask(IGamePlayer gamePlayer) {
+            return game.getTicker().schedule("symbiotic_regen", REGEN_INTERVAL, () -> {
                 final Player player = gamePlayer.getPlayer();
-                if (!player.isOnline()) {
-                    regenTasks.get(uuid).cancel();
-                    regenTasks.remove(uuid);
+                if (!player.isOnline())
                     return;
-                }
                 
                 // Only regenerate if in mushroom biome
-                if (inBiomeStatus.getOrDefault(uuid, false) && player.getHealth() < player.getMaxHealth()) {
+                if (inBiome && player.getHealth() < player.getMaxHealth()) {
                     // Apply regeneration
                     double newHealth = Math.min(player.getHealth() + REGEN_AMOUNT, player.getMaxHealth());
                     player.setHealth(newHealth);
                     
                     // Visual effect (occasionally)
                     if (Math.random() < 0.3) {
-                        player.getWorld().spawnParticle(
-                                Particle.HEART,
+                        game.getParticleService().spawn(game, Particle.HEART,
                                 player.getLocation().add(0, 1, 0),
-                                1, 0.3, 0.3, 0.3, 0
-                        );
+                                1, 0.3, 0.3, 0.3, 0);
                     }
                 }
-            }, 0, REGEN_INTERVAL);
-            
-            regenTasks.put(uuid, task);
-        }
-
-        private boolean isInMushroomBiome(Location location, IGamePlayer gamePlayer) {
-            // First check if they're in their own team's territory
-            if (gamePlayer.getTeam() != null &&
-                    gamePlayer.getTeam().getBiome().getId().equals("mushroom")) {
-                return true;
-            }
-
-            // Alternatively check actual world biome (for natural mushroom fields)
-            return MUSHROOM_BIOMES.contains(location.getBlock().getBiome());
-        }
-    }
-    
-    @Override
-    public void onDeselect(@NotNull IGamePlayer player) {
-        super.onDeselect(player);
-        
-        // Clean up when ability is deselected
-        UUID uuid = player.getPlayer().getUniqueId();
-        if (regenTasks.containsKey(uuid)) {
-            regenTasks.get(uuid).cancel();
-            regenTasks.remove(uuid);
+            });
         }
-        inBiomeStatus.remove(uuid);
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,9 @@ import net.itsthesky.terrawars.api.model.ability.ActiveAbility;
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.core.impl.game.AbilityContext;
 import net.itsthesky.terrawars.core.impl.game.Game;
+import net.itsthesky.terrawars.core.impl.game.GameTicker;
 import net.itsthesky.terrawars.util.BukkitUtils;
 import org.bukkit.Material;
 import org.bukkit.Particle;
@@ -16,12 +18,9 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 public class FrostyArmorAbility extends ActiveAbility {
@@ -31,8 +30,8 @@ public class FrostyArmorAbility extends ActiveAbility {
     private static final int SLOWNESS_DURATION = 3 * 20; // 3 seconds in ticks
     private static final int SLOWNESS_AMPLIFIER = 3; // Slowness IV
     
-    private final Map<UUID, BukkitTask> activeArmors = new HashMap<>();
-    private final Map<UUID, EntityDamageListener> listeners = new HashMap<>();
+    private static final AbilityContext.Key<ArmorData> ARMOR_KEY =
+            AbilityContext.Key.create("tundra_frosty_armor:armor", ArmorData.class, ArmorData::remove);
     
     public FrostyArmorAbility() {
         super("tundra_frosty_armor", Material.PACKED_ICE, "Frosty Armor", 
@@ -50,21 +49,16 @@ public class FrostyArmorAbility extends ActiveAbility {
         final Player bukkitPlayer = player.getPlayer();
         final UUID playerId = bukkitPlayer.getUniqueId();
         
+        final var context = game.getAbilityContext();
+        
         // Cancel existing armor if active
-        if (activeArmors.containsKey(playerId)) {
-            activeArmors.get(playerId).cancel();
-            activeArmors.remove(playerId);
-            
-            if (listeners.containsKey(playerId)) {
-                BukkitUtils.unregisterListener(listeners.get(playerId));
-                listeners.remove(playerId);
-            }
-        }
+        final ArmorData existing = context.remove(ARMOR_KEY, player);
+        if (existing != null)
+            existing.remove();
         
         // Create the damage listener
         final EntityDamageListener listener = new EntityDamageListener(playerId, game);
-        BukkitUtils.registerListener(listener);
-        listeners.put(playerId, listener);
+        BukkitUtils.subscribe(playerId, listener);
         
         // Visual and sound effects
         bukkitPlayer.getWorld().playSound(bukkitPlayer.getLocation(), Sound.BLOCK_GLASS_BREAK, 1.0f, 0.5f);
@@ -80,24 +74,36 @@ public class FrostyArmorAbility extends ActiveAbility {
         startCooldown(player);
         
         // Schedule armor removal
-        final BukkitTask task = BukkitUtils.runTaskLater(() -> {
-            if (listeners.containsKey(playerId)) {
-                BukkitUtils.unregisterListener(listeners.get(playerId));
-                listeners.remove(playerId);
-            }
-            activeArmors.remove(playerId);
+        final var removalTask = game.getTicker().runLater("frosty_armor_removal", DURATION_SECONDS * 20, () -> {
+            final var current = context.get(ARMOR_KEY, player);
+            if (current != null && current.listener() == listener)
+                context.remove(ARMOR_KEY, player);
+            BukkitUtils.unsubscribe(listener);
             
             if (bukkitPlayer.isOnline()) {
                 bukkitPlayer.getWorld().playSound(bukkitPlayer.getLocation(), Sound.BLOCK_GLASS_BREAK, 0.5f, 1.5f);
                 game.getChatService().sendMessage(bukkitPlayer, IChatService.MessageSeverity.INFO,
                         "Your Frosty Armor has worn off.");
             }
-        }, DURATION_SECONDS * 20L);
+        });
         
-        activeArmors.put(playerId, task);
+        context.put(ARMOR_KEY, player, new ArmorData(listener, removalTask));
         return true;
     }
     
+    private record ArmorData(
+            EntityDamageListener listener,
+            GameTicker.TickHandle removalTask
+    ) {
+        /**
+         * Remove the armor right away, without any feedback.
+         */
+        private void remove() {
+            removalTask.cancel();
+            BukkitUtils.unsubscribe(listener);
+        }
+    }
+    
     private static class EntityDamageListener implements Listener {
         private final UUID playerId;
         private final Game game;
@@ -4,15 +4,13 @@ import net.itsthesky.terrawars.api.model.ability.ActiveAbility;
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.core.impl.game.AbilityContext;
 import net.itsthesky.terrawars.core.impl.game.Game;
-import net.itsthesky.terrawars.util.BukkitUtils;
-import net.itsthesky.terrawars.util.Keys;
+import net.itsthesky.terrawars.core.impl.game.TemporaryStructure;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
-import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
@@ -25,7 +23,8 @@ public class IceBridgeAbility extends ActiveAbility {
     private static final int DURATION_SECONDS = 15;
     private static final Material BRIDGE_MATERIAL = Material.BLUE_ICE;
 
-    private final Map<UUID, BridgeInstance> activeBridges = new HashMap<>();
+    private static final AbilityContext.Key<TemporaryStructure> BRIDGE_KEY =
+            AbilityContext.Key.create("tundra_ice_bridge:bridge", TemporaryStructure.class, TemporaryStructure::remove);
 
     public IceBridgeAbility() {
         super("tundra_ice_bridge", Material.BLUE_ICE, "Ice Bridge",
@@ -42,10 +41,9 @@ public class IceBridgeAbility extends ActiveAbility {
         final UUID playerId = player.getPlayer().getUniqueId();
         
         // Remove existing bridge if any
-        if (activeBridges.containsKey(playerId)) {
-            activeBridges.get(playerId).remove();
-            activeBridges.remove(playerId);
-        }
+        final TemporaryStructure existing = game.getAbilityContext().remove(BRIDGE_KEY, player);
+        if (existing != null)
+            existing.remove();
         
         // Get player direction and starting position
         final Vector direction = player.getPlayer().getLocation().getDirection().setY(0).normalize();
@@ -53,7 +51,24 @@ public class IceBridgeAbility extends ActiveAbility {
         startLocation.setY(startLocation.getBlockY() - 1); // Place bridge at feet level
         
         // Create the bridge
-        final List<Block> bridgeBlocks = new ArrayList<>();
+        final var builder = game.getStructureManager().create(startLocation.getWorld())
+                .owner(playerId)
+                .material(BRIDGE_MATERIAL)
+                .duration(DURATION_SECONDS * 20)
+                .replaceWater()
+                .onExpire(bridge -> {
+                    game.getAbilityContext().remove(BRIDGE_KEY, player, bridge);
+                    for (Block block : bridge.getBlocks()) {
+                        // Display a melting effect
+                        game.getParticleService().spawn(game, Particle.DRIPPING_WATER,
+                                block.getLocation().add(0.5, 0.5, 0.5),
+                                5, 0.4, 0.4, 0.4, 0);
+                    }
+                    if (player.isOnline()) {
+                        game.getChatService().sendMessage(player.getPlayer(), IChatService.MessageSeverity.INFO,
+                                "Your Ice Bridge has melted away.");
+                    }
+                });
         
         // Calculate the bridge midpoint
         final Vector right = direction.clone().crossProduct(new Vector(0, 1, 0)).normalize();
@@ -63,81 +78,28 @@ public class IceBridgeAbility extends ActiveAbility {
             
             for (int w = 0; w < BRIDGE_WIDTH; w++) {
                 final var offsetPoint = bridgePoint.clone().add(right.clone().multiply(w - (BRIDGE_WIDTH-1) * 0.5));
-                final Block block = offsetPoint.getBlock();
-                
-                // Skip if block is not air or is already a bridge block
-                if (block.getType() != Material.AIR && block.getType() != Material.WATER)
-                    continue;
-                
-                // Store original block type for restoration
-                BukkitUtils.editBlockPdc(block, pdc -> {
-                    pdc.set(Keys.GAME_PLACED_BLOCK_KEY, PersistentDataType.STRING, playerId.toString());
-                });
-                
-                // Set to ice
-                block.setType(BRIDGE_MATERIAL);
-                bridgeBlocks.add(block);
+                builder.block(offsetPoint.getBlock());
             }
         }
         
+        final TemporaryStructure bridge = builder.place();
+        
         // Effects
         player.getPlayer().getWorld().playSound(player.getPlayer().getLocation(), 
                 Sound.BLOCK_GLASS_PLACE, 1.0f, 1.0f);
         
-        for (Block block : bridgeBlocks) {
-            block.getWorld().spawnParticle(
-                    Particle.SNOWFLAKE,
+        for (Block block : bridge.getBlocks()) {
+            game.getParticleService().spawn(game, Particle.SNOWFLAKE,
                     block.getLocation().add(0.5, 1, 0.5),
-                    3, 0.2, 0.1, 0.2, 0
-            );
+                    3, 0.2, 0.1, 0.2, 0);
         }
         
-        // Create and store bridge instance
-        final BridgeInstance bridge = new BridgeInstance(bridgeBlocks, game, player);
-        activeBridges.put(playerId, bridge);
+        // Store the bridge
+        game.getAbilityContext().put(BRIDGE_KEY, player, bridge);
         
         game.getChatService().sendMessage(player.getPlayer(), IChatService.MessageSeverity.SUCCESS,
                 "Ice Bridge created! It will last for <accent>15 seconds</accent>.");
         
         return true;
     }
-    
-    private static class BridgeInstance {
-        private final List<Block> blocks;
-        private final BukkitTask removalTask;
-        
-        public BridgeInstance(List<Block> blocks, Game game, IGamePlayer player) {
-            this.blocks = blocks;
-            
-            // Schedule bridge removal
-            this.removalTask = BukkitUtils.runTaskLater(() -> {
-                remove();
-                if (player.isOnline()) {
-                    game.getChatService().sendMessage(player.getPlayer(), IChatService.MessageSeverity.INFO,
-                            "Your Ice Bridge has melted away.");
-                }
-            }, DURATION_SECONDS * 20L);
-        }
-        
-        public void remove() {
-            // Remove the bridge blocks
-            for (Block block : blocks) {
-                if (block.getType() == BRIDGE_MATERIAL) {
-                    block.setType(Material.AIR);
-                    
-                    // Display a melting effect
-                    block.getWorld().spawnParticle(
-                            Particle.DRIPPING_WATER,
-                            block.getLocation().add(0.5, 0.5, 0.5),
-                            5, 0.4, 0.4, 0.4, 0
-                    );
-                }
-            }
-            
-            // Cancel the task if it's still running
-            if (removalTask != null && !removalTask.isCancelled()) {
-                removalTask.cancel();
-            }
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,27 +1,26 @@
 package net.itsthesky.terrawars.core.impl.ability.tundra;
 
 import lombok.Getter;
-import net.itsthesky.terrawars.TerraWars;
 import net.itsthesky.terrawars.api.model.ability.ActiveAbility;
 import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.model.game.IGameTeam;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.core.impl.game.AbilityContext;
 import net.itsthesky.terrawars.core.impl.game.Game;
-import net.itsthesky.terrawars.util.BukkitUtils;
+import net.itsthesky.terrawars.core.impl.game.GameTicker;
+import net.itsthesky.terrawars.core.impl.game.PlayerSpatialGrid;
+import net.itsthesky.terrawars.core.impl.game.StructureShape;
+import net.itsthesky.terrawars.core.impl.game.TemporaryStructure;
 import net.itsthesky.terrawars.util.Checks;
+import net.itsthesky.terrawars.util.VoxelShape;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Sound;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
-import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 public class IglooAbility extends ActiveAbility {
@@ -33,7 +32,22 @@ public class IglooAbility extends ActiveAbility {
     private static final double EXPULSION_FORCE = 3;
     private static final Material IGLOO_BLOCK = Material.ICE;
 
-    private final Map<UUID, IglooData> playerIgloos = new HashMap<>();
+    // floor (with an opening around the caster), walls and ceiling, relative to the caster's feet
+    private static final StructureShape IGLOO_SHAPE = StructureShape.builder()
+            .box(-IGLOO_RADIUS, 0, -IGLOO_RADIUS, -2, 0, IGLOO_RADIUS)
+            .box(2, 0, -IGLOO_RADIUS, IGLOO_RADIUS, 0, IGLOO_RADIUS)
+            .box(-1, 0, -IGLOO_RADIUS, 1, 0, -2)
+            .box(-1, 0, 2, 1, 0, IGLOO_RADIUS)
+            .walls(-IGLOO_RADIUS, 1, -IGLOO_RADIUS, IGLOO_RADIUS, IGLOO_HEIGHT - 1, IGLOO_RADIUS)
+            .box(-IGLOO_RADIUS, IGLOO_HEIGHT, -IGLOO_RADIUS, IGLOO_RADIUS, IGLOO_HEIGHT, IGLOO_RADIUS)
+            .build();
+
+    // area checked for obstacles before building, from the caster's feet to the ceiling
+    private static final VoxelShape SPACE_SHAPE = VoxelShape.box(
+            -IGLOO_RADIUS, 0, -IGLOO_RADIUS, IGLOO_RADIUS, IGLOO_HEIGHT, IGLOO_RADIUS);
+
+    private static final AbilityContext.Key<IglooData> IGLOO_KEY =
+            AbilityContext.Key.create("tundra_igloo:igloo", IglooData.class, IglooData::remove);
 
     public IglooAbility() {
         super("tundra_igloo", Material.PACKED_ICE, "Igloo Bunker",
@@ -47,11 +61,17 @@ public class IglooAbility extends ActiveAbility {
     }
 
     private record IglooData(
-            Set<Location> blocks,
-            BukkitTask regenTask,
-            BukkitTask removeTask,
-            Game game
-    ) {}
+            TemporaryStructure structure,
+            GameTicker.TickHandle regenTask
+    ) {
+        /**
+         * Stop the regeneration and remove the blocks immediately (silently).
+         */
+        private void remove() {
+            regenTask.cancel();
+            structure.remove();
+        }
+    }
 
     @Override
     protected boolean execute(@NotNull IGamePlayer gamePlayer, @NotNull IGame rawGame) {
@@ -66,11 +86,12 @@ public class IglooAbility extends ActiveAbility {
         final var team = gamePlayer.getTeam();
         final var center = player.getLocation();
         final var playerId = player.getUniqueId();
+        final var context = game.getAbilityContext();
 
         // Important: Check if player already has an igloo and clean it up first
-        if (playerIgloos.containsKey(playerId)) {
-            cleanupExistingIgloo(playerId);
-        }
+        final var existingIgloo = context.remove(IGLOO_KEY, gamePlayer);
+        if (existingIgloo != null)
+            existingIgloo.remove();
 
         if (!hasEnoughSpace(center)) {
             game.getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
@@ -82,8 +103,23 @@ public class IglooAbility extends ActiveAbility {
         expelEnemies(center, gamePlayer, team);
 
         // Create the igloo structure
-        final var iglooBlocks = createIgloo(center);
-        if (iglooBlocks.isEmpty()) {
+        final var igloo = game.getStructureManager().create(center.getWorld())
+                .shape(center, IGLOO_SHAPE)
+                .owner(playerId)
+                .material(IGLOO_BLOCK)
+                .duration(IGLOO_DURATION_SECONDS * 20)
+                .unbreakable()
+                .onExpire(structure -> {
+                    final var current = context.get(IGLOO_KEY, gamePlayer);
+                    if (current != null && current.structure() == structure) {
+                        current.regenTask().cancel();
+                        context.remove(IGLOO_KEY, gamePlayer);
+                    }
+
+                    structure.getWorld().playSound(structure.getCenter(), Sound.BLOCK_SNOW_BREAK, 1.0f, 1.0f);
+                })
+                .place();
+        if (igloo.isEmpty()) {
             game.getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
                     "You cannot create an igloo here, not enough space!");
             return false;
@@ -93,48 +129,17 @@ public class IglooAbility extends ActiveAbility {
         player.getWorld().playSound(center, Sound.BLOCK_GLASS_PLACE, 1.0f, 0.7f);
 
         final var regenTask = scheduleHealthRegeneration(center, gamePlayer, team);
-        final var removalTask = scheduleIglooRemoval(playerId, iglooBlocks, regenTask);
 
         // Show success message
         game.getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
                 "Igloo created! You will heal for <shade-emerald:500>2 ♥</shade-emerald> per second while inside.");
 
         // Store the igloo blocks for this player
-        playerIgloos.put(playerId, new IglooData(iglooBlocks, regenTask, removalTask, game));
+        context.put(IGLOO_KEY, gamePlayer, new IglooData(igloo, regenTask));
 
         return true;
     }
 
-    /**
-     * Cleans up an existing igloo for a player before creating a new one.
-     * This prevents conflicts between removal tasks.
-     *
-     * @param playerId The UUID of the player
-     */
-    private void cleanupExistingIgloo(UUID playerId) {
-        final var existingIgloo = playerIgloos.get(playerId);
-        if (existingIgloo != null) {
-            // Cancel existing tasks
-            if (existingIgloo.regenTask != null) {
-                existingIgloo.regenTask.cancel();
-            }
-
-            if (existingIgloo.removeTask != null) {
-                existingIgloo.removeTask.cancel();
-            }
-
-            // Remove the blocks immediately (silently)
-            for (Location loc : existingIgloo.blocks) {
-                if (loc.getBlock().getType() == IGLOO_BLOCK) {
-                    loc.getBlock().setType(Material.AIR);
-                }
-            }
-
-            // Remove from tracked igloos
-            playerIgloos.remove(playerId);
-        }
-    }
-
     /**
      * Expels enemy players and entities from the igloo area.
      *
@@ -143,131 +148,38 @@ public class IglooAbility extends ActiveAbility {
      * @param team The team that owns the igloo
      */
     private void expelEnemies(Location center, IGamePlayer gamePlayer, IGameTeam team) {
-        final var world = center.getWorld();
         final var centerX = center.getX();
-        final var centerY = center.getY();
         final var centerZ = center.getZ();
 
-        // Get all entities within the igloo radius
-        final var entities = world.getNearbyEntities(center, IGLOO_RADIUS, IGLOO_HEIGHT, IGLOO_RADIUS);
-
-        for (Entity entity : entities) {
-            if (entity instanceof Player player) {
-                // Skip allies
-                final var entityGamePlayer = gamePlayer.getGame().findGamePlayer(player);
-                if (entityGamePlayer != null && entityGamePlayer.getTeam() == team) {
-                    continue;
-                }
-            }
-
-            if (entity instanceof LivingEntity) {
-                // Calculate direction away from center
-                final var entityLoc = entity.getLocation();
-                final var dirX = entityLoc.getX() - centerX;
-                final var dirZ = entityLoc.getZ() - centerZ;
-
-                // Normalize and apply force
-                final var length = Math.sqrt(dirX * dirX + dirZ * dirZ);
-                if (length > 0) {
-                    final var normalizedX = dirX / length;
-                    final var normalizedZ = dirZ / length;
-
-                    final var velocity = new Vector(
-                            normalizedX * EXPULSION_FORCE,
-                            0.5, // Slight upward force
-                            normalizedZ * EXPULSION_FORCE
-                    );
-
-                    entity.setVelocity(velocity);
-
-                    // Play effect on the entity
-                    if (entity instanceof Player)
-                        entity.getWorld().playSound(entity.getLocation(), Sound.BLOCK_SNOW_BREAK, 1.0f, 0.5f);
-                }
-            }
-        }
-    }
-
-    /**
-     * Creates an igloo structure around the specified location.
-     *
-     * @param center The center location of the igloo
-     * @return A set of locations where blocks were placed, empty if creation failed
-     */
-    private Set<Location> createIgloo(Location center) {
-        final var world = center.getWorld();
-        final var placedBlocks = new HashSet<Location>();
-        final var centerX = center.getBlockX();
-        final var centerY = center.getBlockY();
-        final var centerZ = center.getBlockZ();
-
-        try {
-            // Check if there's enough space for the igloo
-            if (!hasEnoughSpace(center)) {
-                return Collections.emptySet();
-            }
-
-            // Create floor
-            for (int x = centerX - IGLOO_RADIUS; x <= centerX + IGLOO_RADIUS; x++) {
-                for (int z = centerZ - IGLOO_RADIUS; z <= centerZ + IGLOO_RADIUS; z++) {
-                    // Skip the center 3x3 area to create entrance
-                    if (x > centerX - 2 && x < centerX + 2 && z > centerZ - 2 && z < centerZ + 2) {
-                        continue;
-                    }
+        // Get all enemies within the igloo radius
+        final var enemies = ((Game) gamePlayer.getGame()).getPlayerGrid().findInBox(center,
+                IGLOO_RADIUS, IGLOO_HEIGHT, IGLOO_RADIUS, PlayerSpatialGrid.Relation.ENEMY, team);
 
-                    final var loc = new Location(world, x, centerY, z);
-                    final var block = loc.getBlock();
+        for (IGamePlayer enemy : enemies) {
+            final var entity = enemy.getPlayer();
 
-                    if (block.getType() == Material.AIR) {
-                        block.setType(IGLOO_BLOCK);
-                        placedBlocks.add(loc.clone()); // Clone to ensure independence
-                    }
-                }
-            }
+            // Calculate direction away from center
+            final var entityLoc = entity.getLocation();
+            final var dirX = entityLoc.getX() - centerX;
+            final var dirZ = entityLoc.getZ() - centerZ;
 
-            // Create walls
-            for (int y = centerY + 1; y < centerY + IGLOO_HEIGHT; y++) {
-                for (int x = centerX - IGLOO_RADIUS; x <= centerX + IGLOO_RADIUS; x++) {
-                    for (int z = centerZ - IGLOO_RADIUS; z <= centerZ + IGLOO_RADIUS; z++) {
-                        // Only place blocks on the perimeter
-                        if (x == centerX - IGLOO_RADIUS || x == centerX + IGLOO_RADIUS ||
-                                z == centerZ - IGLOO_RADIUS || z == centerZ + IGLOO_RADIUS) {
-
-                            final var loc = new Location(world, x, y, z);
-                            final var block = loc.getBlock();
-
-                            if (block.getType() == Material.AIR) {
-                                block.setType(IGLOO_BLOCK);
-                                placedBlocks.add(loc.clone()); // Clone to ensure independence
-                            }
-                        }
-                    }
-                }
-            }
+            // Normalize and apply force
+            final var length = Math.sqrt(dirX * dirX + dirZ * dirZ);
+            if (length > 0) {
+                final var normalizedX = dirX / length;
+                final var normalizedZ = dirZ / length;
 
-            // Create ceiling
-            for (int x = centerX - IGLOO_RADIUS; x <= centerX + IGLOO_RADIUS; x++) {
-                for (int z = centerZ - IGLOO_RADIUS; z <= centerZ + IGLOO_RADIUS; z++) {
-                    final var loc = new Location(world, x, centerY + IGLOO_HEIGHT, z);
-                    final var block = loc.getBlock();
+                final var velocity = new Vector(
+                        normalizedX * EXPULSION_FORCE,
+                        0.5, // Slight upward force
+                        normalizedZ * EXPULSION_FORCE
+                );
 
-                    if (block.getType() == Material.AIR) {
-                        block.setType(IGLOO_BLOCK);
-                        placedBlocks.add(loc.clone()); // Clone to ensure independence
-                    }
-                }
-            }
+                entity.setVelocity(velocity);
 
-            return placedBlocks;
-        } catch (Exception e) {
-            // If any error occurs, ensure we don't leave a partial structure
-            for (Location loc : placedBlocks) {
-                loc.getBlock().setType(Material.AIR);
+                // Play effect on the entity
+                entity.getWorld().playSound(entityLoc, Sound.BLOCK_SNOW_BREAK, 1.0f, 0.5f);
             }
-
-            TerraWars.instance().getLogger().warning("Failed to create igloo: " + e.getMessage());
-            e.printStackTrace();
-            return Collections.emptySet();
         }
     }
 
@@ -278,68 +190,11 @@ public class IglooAbility extends ActiveAbility {
      * @return true if there's enough space, false otherwise
      */
     private boolean hasEnoughSpace(Location center) {
-        final var world = center.getWorld();
-        final var centerX = center.getBlockX();
-        final var centerY = center.getBlockY();
-        final var centerZ = center.getBlockZ();
-
         // Count the number of solid blocks in the area
-        int solidBlocks = 0;
-        int totalBlocks = 0;
-
-        for (int y = centerY; y <= centerY + IGLOO_HEIGHT; y++) {
-            for (int x = centerX - IGLOO_RADIUS; x <= centerX + IGLOO_RADIUS; x++) {
-                for (int z = centerZ - IGLOO_RADIUS; z <= centerZ + IGLOO_RADIUS; z++) {
-                    totalBlocks++;
-
-                    final var block = world.getBlockAt(x, y, z);
-                    if (block.getType().isSolid() && block.getType() != IGLOO_BLOCK) {
-                        solidBlocks++;
-                    }
-                }
-            }
-        }
+        final int solidBlocks = SPACE_SHAPE.count(center, type -> type.isSolid() && type != IGLOO_BLOCK);
 
         // If more than 30% of the area is already solid, don't build
-        return (double) solidBlocks / totalBlocks < 0.3;
-    }
-
-    /**
-     * Schedules the removal of the igloo after the duration.
-     *
-     * @param playerUuid The UUID of the player who created the igloo
-     * @param iglooBlocks The blocks making up the igloo
-     * @param regenTask The regeneration task to cancel
-     */
-    private BukkitTask scheduleIglooRemoval(UUID playerUuid, Set<Location> iglooBlocks, BukkitTask regenTask) {
-        final var countdown = new AtomicInteger(IGLOO_DURATION_SECONDS);
-
-        return BukkitUtils.runTaskTimer(() -> {
-            final var secondsLeft = countdown.getAndDecrement();
-
-            if (secondsLeft <= 0) {
-                // Stop regeneration
-                regenTask.cancel();
-
-                // Check if this igloo data is still valid for this player
-                final var currentIgloo = playerIgloos.get(playerUuid);
-                if (currentIgloo != null && currentIgloo.blocks() == iglooBlocks) {
-                    // Remove the igloo blocks
-                    for (Location loc : iglooBlocks) {
-                        if (loc.getBlock().getType() == IGLOO_BLOCK) {
-                            // Play break effect
-                            loc.getWorld().playSound(loc, Sound.BLOCK_SNOW_BREAK, 0.3f, 1.0f);
-
-                            // Remove the block
-                            loc.getBlock().setType(Material.AIR);
-                        }
-                    }
-
-                    // Remove from tracked igloos
-                    playerIgloos.remove(playerUuid);
-                }
-            }
-        }, 20, 20); // Run every second
+        return (double) solidBlocks / SPACE_SHAPE.size() < 0.3;
     }
 
     /**
@@ -348,30 +203,27 @@ public class IglooAbility extends ActiveAbility {
      * @param center The center of the igloo
      * @param gamePlayer The player who created the igloo
      * @param team The team that owns the igloo
-     * @return The BukkitTask handling regeneration
+     * @return The task handling regeneration
      */
-    private BukkitTask scheduleHealthRegeneration(Location center, IGamePlayer gamePlayer, IGameTeam team) {
+    private GameTicker.TickHandle scheduleHealthRegeneration(Location center, IGamePlayer gamePlayer, IGameTeam team) {
         final var world = center.getWorld();
 
-        return BukkitUtils.runTaskTimer(() -> {
-            // Get all players within the igloo radius
-            final var entities = world.getNearbyEntities(center, IGLOO_RADIUS, IGLOO_HEIGHT, IGLOO_RADIUS);
-
-            for (Entity entity : entities) {
-                if (entity instanceof Player player) {
-                    // Only heal allies
-                    final var entityGamePlayer = gamePlayer.getGame().findGamePlayer(player);
-                    if (entityGamePlayer != null && entityGamePlayer.getTeam() == team) {
-                        // Apply regeneration
-                        final var maxHealth = player.getMaxHealth();
-                        final var newHealth = Math.min(player.getHealth() + REGEN_AMOUNT, maxHealth);
-                        player.setHealth(newHealth);
-
-                        // Show healing effect
-                        world.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 2.0f);
-                    }
-                }
+        return ((Game) gamePlayer.getGame()).getTicker().schedule("igloo_regen", 40, 40, () -> {
+            // Get all allies within the igloo radius
+            final var allies = ((Game) gamePlayer.getGame()).getPlayerGrid().findInBox(center,
+                    IGLOO_RADIUS, IGLOO_HEIGHT, IGLOO_RADIUS, PlayerSpatialGrid.Relation.ALLY, team);
+
+            for (IGamePlayer ally : allies) {
+                final var player = ally.getPlayer();
+
+                // Apply regeneration
+                final var maxHealth = player.getMaxHealth();
+                final var newHealth = Math.min(player.getHealth() + REGEN_AMOUNT, maxHealth);
+                player.setHealth(newHealth);
+
+                // Show healing effect
+                world.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 2.0f);
             }
-        }, 40, 40); // 40 ticks = 2 seconds, runs 5 times during the 10 seconds
+        }); // 40 ticks = 2 seconds, runs 5 times during the 10 seconds
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.util.Checks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Per-game storage of the abilities' per-player state.
+ * <br>
+ * Abilities are shared by every game, so they declare typed {@link Key keys} and store
+ * their state here instead of in their own maps. Values are kept in one array per key,
+ * indexed by the {@link GamePlayer#getSlot() slot} of the player in the game, and the
+ * whole context is {@link #dispose() disposed} in one step when the game is cleaned up,
+ * each value being released by the disposer of its key.
+ */
+public class AbilityContext {
+
+    private Key<?>[] keys = new Key<?>[0];
+    private Object[][] values = new Object[0][];
+
+    /**
+     * @param key the key of the state
+     * @param player the player owning the state
+     * @return the state, or null if none is stored
+     */
+    public <T> @Nullable T get(@NotNull Key<T> key, @NotNull IGamePlayer player) {
+        final int slot = slotOf(player);
+        if (key.index >= values.length || values[key.index] == null || slot >= values[key.index].length)
+            return null;
+
+        return key.type.cast(values[key.index][slot]);
+    }
+
+    /**
+     * Store a state, replacing (without disposing it) the previous one.
+     * @param key the key of the state
+     * @param player the player owning the state
+     * @param value the new state, or null to remove it
+     * @return the previous state, or null if none was stored
+     */
+    public <T> @Nullable T put(@NotNull Key<T> key, @NotNull IGamePlayer player, @Nullable T value) {
+        final int slot = slotOf(player);
+        final var row = row(key, slot);
+        final var previous = key.type.cast(row[slot]);
+        row[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Remove a state, without disposing it.
+     * @param key the key of the state
+     * @param player the player owning the state
+     * @return the removed state, or null if none was stored
+     */
+    public <T> @Nullable T remove(@NotNull Key<T> key, @NotNull IGamePlayer player) {
+        if (key.index >= values.length || values[key.index] == null)
+            return null;
+        return put(key, player, null);
+    }
+
+    /**
+     * Remove a state only if it's still the given one.
+     * @return true if the state was removed
+     */
+    public <T> boolean remove(@NotNull Key<T> key, @NotNull IGamePlayer player, @NotNull T value) {
+        if (get(key, player) != value)
+            return false;
+        put(key, player, null);
+        return true;
+    }
+
+    /**
+     * Run an action on the states of every player of the game for a key.
+     */
+    public <T> void forEach(@NotNull Key<T> key, @NotNull Consumer<? super T> action) {
+        if (key.index >= values.length || values[key.index] == null)
+            return;
+
+        for (Object value : values[key.index].clone())
+            if (value != null)
+                action.accept(key.type.cast(value));
+    }
+
+    /**
+     * Dispose every stored state, then forget all of them.
+     */
+    public void dispose() {
+        final var disposedKeys = keys;
+        final var disposedValues = values;
+        this.keys = new Key<?>[0];
+        this.values = new Object[0][];
+
+        for (int i = 0; i < disposedValues.length; i++) {
+            if (disposedValues[i] == null)
+                continue;
+            for (Object value : disposedValues[i])
+                if (value != null)
+                    disposedKeys[i].dispose(value);
+        }
+    }
+
+    private @NotNull Object @NotNull [] row(@NotNull Key<?> key, int slot) {
+        if (key.index >= values.length) {
+            values = Arrays.copyOf(values, key.index + 1);
+            keys = Arrays.copyOf(keys, key.index + 1);
+        }
+        keys[key.index] = key;
+
+        var row = values[key.index];
+        if (row == null)
+            row = values[key.index] = new Object[Math.max(8, slot + 1)];
+        else if (slot >= row.length)
+            row = values[key.index] = Arrays.copyOf(row, Math.max(row.length * 2, slot + 1));
+        return row;
+    }
+
+    private static int slotOf(@NotNull IGamePlayer player) {
+        Checks.notNull(player, "Player cannot be null");
+        return ((GamePlayer) player).getSlot();
+    }
+
+    /**
+     * A typed key of an ability's state, meant to be declared once per ability.
+     * @param <T> the type of the state
+     */
+    public static final class Key<T> {
+
+        private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+        private final int index;
+        private final String name;
+        private final Class<T> type;
+        private final @Nullable Consumer<? super T> disposer;
+
+        private Key(@NotNull String name, @NotNull Class<T> type, @Nullable Consumer<? super T> disposer) {
+            this.index = NEXT_INDEX.getAndIncrement();
+            this.name = name;
+            this.type = type;
+            this.disposer = disposer;
+        }
+
+        /**
+         * @param name the name of the key, for debugging purposes
+         * @param type the type of the state
+         * @param disposer releases a state when the game is cleaned up, can be null
+         * @return the new key
+         */
+        public static <T> @NotNull Key<T> create(@NotNull String name, @NotNull Class<T> type,
+                                                 @Nullable Consumer<? super T> disposer) {
+            Checks.notNull(name, "Name cannot be null");
+            Checks.notNull(type, "Type cannot be null");
+            return new Key<>(name, type, disposer);
+        }
+
+        public @NotNull String getName() {
+            return name;
+        }
+
+        private void dispose(@NotNull Object value) {
+            if (disposer != null)
+                disposer.accept(type.cast(value));
+        }
+
+        @Override
+        public String toString() {
+            return "Key[" + name + "]";
+        }
+    }
+}
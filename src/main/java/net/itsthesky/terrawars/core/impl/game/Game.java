@@ -3,7 +3,6 @@ package net.itsthesky.terrawars.core.impl.game;
 import com.github.stefvanschie.inventoryframework.util.UUIDTagType;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import lombok.Getter;
-import net.itsthesky.terrawars.TerraWars;
 import net.itsthesky.terrawars.api.model.ability.AbilityType;
 import net.itsthesky.terrawars.api.model.ability.ActiveAbility;
 import net.itsthesky.terrawars.api.model.game.IGame;
@@ -11,13 +10,17 @@ import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.model.game.IGameTeam;
 import net.itsthesky.terrawars.api.services.IBiomeService;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.api.services.IGameService;
+import net.itsthesky.terrawars.api.services.IParticleService;
 import net.itsthesky.terrawars.api.services.ISchemService;
 import net.itsthesky.terrawars.api.services.base.IServiceProvider;
 import net.itsthesky.terrawars.api.services.base.Inject;
 import net.itsthesky.terrawars.core.config.GameConfig;
 import net.itsthesky.terrawars.core.config.GameTeamConfig;
+import net.itsthesky.terrawars.core.events.game.GameMapResetEvent;
 import net.itsthesky.terrawars.core.events.game.GameStateChangeEvent;
 import net.itsthesky.terrawars.core.impl.ShopCategories;
+import net.itsthesky.terrawars.core.impl.game.hologram.HologramManager;
 import net.itsthesky.terrawars.util.*;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.format.TextColor;
@@ -39,12 +42,13 @@ import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.entity.ItemMergeEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
@@ -53,21 +57,36 @@ public class Game implements IGame {
     @Inject private IChatService chatService;
     @Inject private IBiomeService biomeService;
     @Inject private ISchemService schemService;
+    @Inject private IGameService gameService;
+    @Inject private IParticleService particleService;
     private final IServiceProvider serviceProvider;
 
-    private final Map<Location, Block> placedBlocks;
+    private final PlacedBlockIndex placedBlocks;
     private final GameConfig config;
     private final List<GameTeam> teams;
     private final Set<GamePlayer> waitingPlayers;
+    private final Map<UUID, GamePlayer> playersById;
     private final Set<GameGenerator> generators;
     private final Set<GameBiomeNode> biomeNodes;
     private final UUID id;
     private final int maxPlayers;
+    private final GameListener listener;
+    private final GameTicker ticker;
+    private final GameMetrics metrics;
+    private final GeneratorEngine generatorEngine;
+    private final HologramManager hologramManager;
+    private final TemporaryStructureManager structureManager;
+    private final AbilityContext abilityContext;
+    private int nextPlayerSlot;
+    private final PlayerSpatialGrid playerGrid;
+    private final TerritoryGrid territoryGrid;
+    private final MovementTracker movementTracker;
+    private ProtectionIndex protectionIndex;
 
     private final GameWaitingData waitingData;
 
     private GameState state;
-    private BukkitTask startCountdownTask;
+    private GameTicker.TickHandle startCountdownTask;
 
     public Game(@NotNull IServiceProvider serviceProvider,
                 @NotNull GameConfig config) {
@@ -75,19 +94,41 @@ public class Game implements IGame {
         this.serviceProvider = serviceProvider;
         this.config = config;
 
-        BukkitUtils.registerListener(new GameListener());
-
         this.id = UUID.randomUUID();
         this.state = GameState.WAITING;
         this.teams = new ArrayList<>();
         this.waitingPlayers = new HashSet<>();
-        this.placedBlocks = new HashMap<>();
+        this.playersById = new ConcurrentHashMap<>();
+        this.placedBlocks = new PlacedBlockIndex();
         this.generators = new HashSet<>();
         this.biomeNodes = new HashSet<>();
 
         this.waitingData = new GameWaitingData();
+        this.metrics = new GameMetrics(this.id);
+        this.ticker = new GameTicker(this);
+        this.ticker.start();
+        this.generatorEngine = new GeneratorEngine(this.ticker);
+        this.hologramManager = new HologramManager(this);
+        this.structureManager = new TemporaryStructureManager(this);
+        this.abilityContext = new AbilityContext();
+        this.playerGrid = new PlayerSpatialGrid(this);
+        this.territoryGrid = new TerritoryGrid(this);
+        this.movementTracker = new MovementTracker(this);
+        this.movementTracker.addThreshold(config.getVoidY());
+        this.movementTracker.listenAll(new MovementTracker.MovementListener() {
+            @Override
+            public void onThresholdCrossed(@NotNull IGamePlayer player, int threshold, boolean below) {
+                if (below && threshold == config.getVoidY())
+                    player.getPlayer().setHealth(0);
+            }
+        });
+        this.protectionIndex = ProtectionIndex.compile(config, List.of());
 
         this.maxPlayers = this.config.getGameSize().getPlayerPerTeam() * 4;
+        if (config.isPersistPlacedBlocks())
+            recoverPersistedBlocks();
+
+        BukkitUtils.subscribe(this, this.listener = new GameListener());
     }
 
     //region Getters
@@ -123,6 +164,13 @@ public class Game implements IGame {
         return Set.copyOf(teams);
     }
 
+    @Override
+    public @Nullable IGamePlayer findGamePlayer(@NotNull UUID playerId) {
+        Checks.notNull(playerId, "Player ID cannot be null");
+
+        return playersById.get(playerId);
+    }
+
     //endregion
 
     @Override
@@ -151,11 +199,13 @@ public class Game implements IGame {
         if (waitingPlayers.size() >= maxPlayers)
             return false;
 
-        if (waitingPlayers.stream().anyMatch(p -> p.getOfflinePlayer().getUniqueId().equals(player.getUniqueId())))
+        if (playersById.containsKey(player.getUniqueId()))
             return false;
 
-        final var gamePlayer = new GamePlayer(player, this);
+        final var gamePlayer = new GamePlayer(player, this, nextPlayerSlot++);
         waitingPlayers.add(gamePlayer);
+        playersById.put(player.getUniqueId(), gamePlayer);
+        gameService.trackPlayer(player.getUniqueId(), this);
         gamePlayer.waitingSetup();
 
         broadcastMessage(IChatService.MessageSeverity.INFO,
@@ -172,7 +222,10 @@ public class Game implements IGame {
         Checks.isTrue(state != GameState.RUNNING, "Cannot remove player from game when in RUNNING state.");
 
         if (state == GameState.WAITING) {
-            waitingPlayers.removeIf(p -> p.getOfflinePlayer().getUniqueId().equals(player.getUniqueId()));
+            final var gamePlayer = playersById.remove(player.getUniqueId());
+            if (gamePlayer != null)
+                waitingPlayers.remove(gamePlayer);
+            gameService.untrackPlayer(player.getUniqueId(), this);
             broadcastMessage(IChatService.MessageSeverity.INFO,
                     "<base>" + player.getName() + "<text> left the game. <accent>[<text>" + waitingPlayers.size() + "<accent>/<text>" + maxPlayers + "<accent>]");
             cancelCountdownIfNeeded();
@@ -180,17 +233,94 @@ public class Game implements IGame {
     }
 
     @Override
-    public void cleanupGame() {
+    public @NotNull CompletableFuture<Void> cleanupGame() {
         for (GameTeam team : teams) team.cleanup();
         for (var generator : generators) generator.cleanup();
+        generatorEngine.shutdown();
+        hologramManager.shutdown();
+        abilityContext.dispose();
+        structureManager.shutdown();
+        playerGrid.shutdown();
+        movementTracker.shutdown();
         for (var player : waitingPlayers) player.cleanup();
         for (var node : biomeNodes) node.cleanup();
+        BukkitUtils.unsubscribe(listener);
+        ticker.shutdown();
 
-        for (Block block : placedBlocks.values()) {
-            if (block.getLocation().getWorld() != getWorld())
-                continue;
+        for (var entry : playersById.entrySet()) {
+            gameService.untrackPlayer(entry.getKey(), this);
+            BukkitUtils.cooldowns().release(entry.getValue());
+        }
+        playersById.clear();
+
+        final var world = getWorld();
+        final var resetTask = new MapResetTask(world, placedBlocks, Math.max(1, config.getResetBudgetMs()), position -> {
+            if (config.isPersistPlacedBlocks())
+                BukkitUtils.removeBlockPdc(BlockPositions.toBlock(world, position));
+        });
+
+        return resetTask.start().thenRun(() -> {
+            placedBlocks.clear();
+            BukkitUtils.callEvent(new GameMapResetEvent(this, resetTask.getRestoredBlocks()));
+        });
+    }
+
+    /**
+     * Mark the given block as placed during this game: it can be broken by players
+     * and will be removed once the game ends.
+     * @param block the placed block, in this game's world
+     * @param placer the UUID of the player who placed it
+     * @param shopItemId the ID of the shop item the block comes from, if any
+     */
+    public void markPlacedBlock(@NotNull Block block, @NotNull UUID placer, @Nullable String shopItemId) {
+        placedBlocks.put(block, placer, shopItemId);
+
+        if (config.isPersistPlacedBlocks()) {
+            BukkitUtils.editBlockPdc(block, pdc -> {
+                pdc.set(Keys.GAME_PLACED_BLOCK_KEY, PersistentDataType.STRING, placer.toString());
+                if (shopItemId != null)
+                    pdc.set(Keys.SHOP_ITEM_KEY, PersistentDataType.STRING, shopItemId);
+            });
+        }
+    }
+
+    /**
+     * Forget a block previously {@link #markPlacedBlock(Block, UUID, String) marked as placed}.
+     * @param block the block to forget
+     * @return true if the block was marked as placed
+     */
+    public boolean unmarkPlacedBlock(@NotNull Block block) {
+        final var removed = placedBlocks.remove(block);
+        if (removed && config.isPersistPlacedBlocks())
+            BukkitUtils.removeBlockPdc(block);
+        return removed;
+    }
+
+    public boolean isPlacedBlock(@NotNull Block block) {
+        return block.getWorld() == getWorld() && placedBlocks.contains(block);
+    }
 
-            block.setType(Material.AIR);
+    /**
+     * Reload the placed blocks persisted in the loaded chunks of the game's world, typically
+     * left over by a crash, so they get removed when this game is cleaned up.
+     */
+    private void recoverPersistedBlocks() {
+        final var world = getWorld();
+        if (world == null)
+            return;
+
+        for (Chunk chunk : world.getLoadedChunks()) {
+            BukkitUtils.forEachBlockPdc(chunk, (block, pdc) -> {
+                final var placer = pdc.get(Keys.GAME_PLACED_BLOCK_KEY, PersistentDataType.STRING);
+                if (placer == null)
+                    return;
+
+                try {
+                    placedBlocks.put(block, UUID.fromString(placer), pdc.get(Keys.SHOP_ITEM_KEY, PersistentDataType.STRING));
+                } catch (IllegalArgumentException ignored) {
+                    // malformed entry, keep it in the chunk for manual inspection
+                }
+            });
         }
     }
 
@@ -288,7 +418,7 @@ public class Game implements IGame {
             startCountdownTask.cancel();
 
         final var countdown = new AtomicInteger(10);
-        startCountdownTask = Bukkit.getScheduler().runTaskTimer(TerraWars.instance(), () -> {
+        startCountdownTask = ticker.schedule("start_countdown", 20, 0, () -> {
             if (countdown.get() <= 0) {
                 broadcastMessage(IChatService.MessageSeverity.SUCCESS, "Game started!");
                 startCountdownTask.cancel();
@@ -311,7 +441,7 @@ public class Game implements IGame {
             }
 
             broadcastMessage(severity, "Game starting in <accent>" + count + " second" + (count > 1 ? "s" : "") + "<text> ...");
-        }, 0, 20);
+        });
     }
 
     public void setupStartedGame() {
@@ -332,6 +462,8 @@ public class Game implements IGame {
             final var team = new GameTeam(teamConfigs.get(i), this, biomes.get(i));
             teams.add(team);
         }
+        this.protectionIndex = ProtectionIndex.compile(config, teams);
+        this.territoryGrid.build(teams);
 
         final var remainingPlayers = new ArrayList<IGamePlayer>(waitingPlayers);
 
@@ -362,6 +494,22 @@ public class Game implements IGame {
             }
         }
 
+        // re-index from the teams, so the index always matches who is actually playing
+        final var assignedPlayers = new HashMap<UUID, GamePlayer>();
+        for (GameTeam team : teams)
+            for (IGamePlayer player : team.getPlayers())
+                assignedPlayers.put(player.getOfflinePlayer().getUniqueId(), (GamePlayer) player);
+        for (UUID playerId : playersById.keySet()) {
+            if (!assignedPlayers.containsKey(playerId)) {
+                BukkitUtils.cooldowns().release(playersById.remove(playerId));
+                gameService.untrackPlayer(playerId, this);
+            }
+        }
+        for (var entry : assignedPlayers.entrySet()) {
+            playersById.put(entry.getKey(), entry.getValue());
+            gameService.trackPlayer(entry.getKey(), this);
+        }
+
         for (GameTeam team : teams) {
             for (IGamePlayer player : team.getPlayers()) {
                 if (player.isOnline()) {
@@ -440,14 +588,20 @@ public class Game implements IGame {
             if (event.getEntity() instanceof LargeFireball fireball) {
                 event.setCancelled(true);
 
-                final var blocks = BukkitUtils.sphereAround(fireball.getLocation(), 3);
-                for (Block block : blocks) {
-                    if (block.getLocation().getWorld() != getWorld())
-                        continue;
+                final var world = fireball.getWorld();
+                if (world == getWorld()) {
+                    VoxelShape.sphere(3).forEachPosition(fireball.getLocation(), (x, y, z) -> {
+                        if (!placedBlocks.contains(BlockPositions.pack(x, y, z)))
+                            return;
+
+                        final var block = world.getBlockAt(x, y, z);
+                        if (structureManager.isProtected(block))
+                            return; // e.g. igloos
 
-                    final var pdc = BukkitUtils.getBlockPdc(block);
-                    if (pdc != null && pdc.has(Keys.GAME_PLACED_BLOCK_KEY, PersistentDataType.STRING))
                         block.setType(Material.AIR);
+                        unmarkPlacedBlock(block);
+                        structureManager.release(block);
+                    });
                 }
 
                 final var center = fireball.getLocation();
@@ -481,21 +635,31 @@ public class Game implements IGame {
                 return;
             }
 
-            final var lobbyLoc = getLobbyLocation().toBlockLocation();
-            if (block.getY() >= 155 || block.getY() <= 110) {
+            if (protectionIndex.isOutsideBuildHeight(block.getY())) {
                 event.setCancelled(true);
                 chatService.sendMessage(player, IChatService.MessageSeverity.ERROR,
                         "You cannot place blocks outside of the game area!");
                 return;
             }
 
-            BukkitUtils.editBlockPdc(block, pdc -> {
-                pdc.set(Keys.GAME_PLACED_BLOCK_KEY, PersistentDataType.STRING, player.getUniqueId().toString());
-                if (event.getItemInHand().getPersistentDataContainer().has(Keys.SHOP_ITEM_KEY, PersistentDataType.STRING))
-                    pdc.set(Keys.SHOP_ITEM_KEY, PersistentDataType.STRING,
-                            Objects.requireNonNull(event.getItemInHand().getPersistentDataContainer().get(Keys.SHOP_ITEM_KEY, PersistentDataType.STRING)));
-            });
-            placedBlocks.put(block.getLocation(), block);
+            final var region = protectionIndex.find(block);
+            if (region != null) {
+                event.setCancelled(true);
+                final var owner = region.owner();
+                if (owner == null)
+                    chatService.sendMessage(player, IChatService.MessageSeverity.ERROR,
+                            "You cannot build near a <accent>" + region.type().getDisplayName() + "<text>!");
+                else if (owner == team)
+                    chatService.sendMessage(player, IChatService.MessageSeverity.ERROR,
+                            "You cannot build near your <accent>own " + region.type().getDisplayName() + "<text>!");
+                else
+                    chatService.sendMessage(player, IChatService.MessageSeverity.ERROR,
+                            "You cannot build near the <accent>" + owner.getBiome().getName() + " " + region.type().getDisplayName() + "<text>!");
+                return;
+            }
+
+            markPlacedBlock(block, player.getUniqueId(),
+                    event.getItemInHand().getPersistentDataContainer().get(Keys.SHOP_ITEM_KEY, PersistentDataType.STRING));
         }
 
         @EventHandler(priority = EventPriority.HIGH)
@@ -519,11 +683,10 @@ public class Game implements IGame {
                 return;
             }
 
-            final var pdc = BukkitUtils.getBlockPdc(block);
-            if (pdc == null || !pdc.has(Keys.GAME_PLACED_BLOCK_KEY, PersistentDataType.STRING)) {
+            if (!placedBlocks.contains(block) || structureManager.isProtected(block)) {
                 event.setCancelled(true);
             } else {
-                final var shopItemId = pdc.get(Keys.SHOP_ITEM_KEY, PersistentDataType.STRING);
+                final var shopItemId = placedBlocks.getShopItem(block);
                 if (shopItemId != null) {
                     event.setDropItems(false);
                     final var item = new ItemBuilder(ShopCategories.buildItem(shopItemId, gamePlayer))
@@ -536,7 +699,10 @@ public class Game implements IGame {
                 }
             }
 
-            placedBlocks.remove(block.getLocation());
+            if (!event.isCancelled()) {
+                unmarkPlacedBlock(block);
+                structureManager.release(block);
+            }
         }
 
         // Handler for damages: avoid teams player & lobby damages
@@ -596,11 +762,12 @@ public class Game implements IGame {
             }
         }
 
-        // Prevent items from generators to stacks
+        // Prevent items from generators to stacks, in both directions: an item merged into a
+        // generator's display item would be overwritten by its next refresh
         @EventHandler(priority = EventPriority.HIGH)
         public void onItemStack(@NotNull ItemMergeEvent event) {
-            final var entity = event.getEntity();
-            if (!entity.getPersistentDataContainer().has(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE))
+            if (!event.getEntity().getPersistentDataContainer().has(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE)
+                    && !event.getTarget().getPersistentDataContainer().has(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE))
                 return;
 
             event.setCancelled(true);
@@ -610,19 +777,16 @@ public class Game implements IGame {
         public void onPlayerOpenChest(PlayerInteractEvent event) {
             if (event.getAction() == Action.RIGHT_CLICK_BLOCK && event.getClickedBlock() != null) {
                 final var block = event.getClickedBlock();
-                if (block.getType().equals(Material.CHEST)) {
-                    for (final var team : teams) {
-                        if (team.getTeamChestLocation().toBlockLocation().equals(block.getLocation())) {
-                            final var teamPlayer = team.getPlayer(event.getPlayer());
-                            if (teamPlayer != null) // It's the same team; the player can open the chest
-                                return;
-
-                            event.setCancelled(true);
-                            chatService.sendMessage(event.getPlayer(), IChatService.MessageSeverity.ERROR,
-                                    "You cannot open this chest, it's not yours!");
-                            break;
-                        }
-                    }
+                if (block.getType().equals(Material.CHEST) && block.getWorld() == getWorld()) {
+                    final var region = protectionIndex.find(block);
+                    if (region == null || region.type() != ProtectionIndex.RegionType.TEAM_CHEST || region.owner() == null)
+                        return;
+                    if (region.owner().getPlayer(event.getPlayer()) != null) // It's the same team; the player can open the chest
+                        return;
+
+                    event.setCancelled(true);
+                    chatService.sendMessage(event.getPlayer(), IChatService.MessageSeverity.ERROR,
+                            "You cannot open this chest, it's not yours!");
                 }
             }
         }
@@ -7,19 +7,19 @@ import net.itsthesky.terrawars.api.model.game.IGameHolder;
 import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.model.game.IGameTeam;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.api.services.ISchemService;
 import net.itsthesky.terrawars.util.BukkitUtils;
 import net.itsthesky.terrawars.util.Colors;
-import org.bukkit.Color;
+import net.itsthesky.terrawars.util.ParticleShape;
 import org.bukkit.Location;
 import org.bukkit.Particle;
-import org.bukkit.World;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 @Getter
 @Setter
@@ -33,15 +33,17 @@ public class GameBiomeNode implements IGameHolder {
 
     private static final float CAPTURE_RADIUS = 2f; // in blocks
     private static final int CAPTURE_TIME = 10; // in seconds
+    private static final ParticleShape CAPTURE_CIRCLE = ParticleShape.circle(CAPTURE_RADIUS, 75);
 
     private final @NotNull Game game;
     private final @NotNull Location location;
 
     // data
-    private @NotNull BukkitTask circleParticleTask;
+    private @NotNull GameTicker.TickHandle circleParticleTask;
     private @NotNull List<IGamePlayer> playersInRange;
     private @Nullable IGameTeam owningTeam;
     private @Nullable IGamePlayer capturingPlayer;
+    private @NotNull CompletableFuture<Void> pendingPaste;
 
     public GameBiomeNode(@NotNull Game game,
                          @NotNull Location nodeLocation) {
@@ -49,18 +51,20 @@ public class GameBiomeNode implements IGameHolder {
         this.location = nodeLocation.add(0, 0.75f, 0);
         this.owningTeam = null;
         this.playersInRange = new ArrayList<>();
+        this.pendingPaste = CompletableFuture.completedFuture(null);
 
         this.circleParticleTask = createParticleTask();
-        paste("neutral.schem");
+        paste(ISchemService.NEUTRAL_SCHEMATIC);
     }
 
     public void changeOwningTeam(@Nullable IGameTeam team) {
         if (team == null) {
-            paste("neutral.schem");
+            paste(ISchemService.NEUTRAL_SCHEMATIC);
             if (this.owningTeam != null)
                 this.owningTeam.getCapturedNodes().remove(this);
 
             this.owningTeam = null;
+            game.getTerritoryGrid().setNodeOwner(location, null);
         } else {
             paste(team.getBiome().getSchematicName());
 
@@ -69,21 +73,27 @@ public class GameBiomeNode implements IGameHolder {
 
             this.owningTeam = team;
             this.owningTeam.getCapturedNodes().add(this);
+            game.getTerritoryGrid().setNodeOwner(location, team);
         }
     }
 
-    private void paste(String name) {
-        game.getSchemService().pasteSchematic(name, location, false);
+    /**
+     * Paste the given schematic on the node, off the server thread. Pastes are chained
+     * so that they're always applied in the order the node changed owner.
+     * @param name the schematic to paste
+     * @return a future completed, on the server thread, once the schematic is pasted
+     */
+    private CompletableFuture<Void> paste(String name) {
+        this.pendingPaste = this.pendingPaste
+                .exceptionally(ex -> null)
+                .thenCompose(v -> game.getSchemService().pasteSchematicAsync(name, location, false));
+        return this.pendingPaste;
     }
 
     private NodeWithinState scanPlayerInRange() {
         playersInRange.clear();
-
-        for (IGamePlayer player : game.getPlayers()) {
-            if (player.getPlayer().getLocation().distance(location) <= CAPTURE_RADIUS) {
-                playersInRange.add(player);
-            }
-        }
+        playersInRange.addAll(game.getPlayerGrid().findInRadius(location, CAPTURE_RADIUS,
+                PlayerSpatialGrid.Relation.ANY, null));
 
         if (playersInRange.isEmpty()) {
             capturingPlayer = null;
@@ -103,8 +113,8 @@ public class GameBiomeNode implements IGameHolder {
 
     private long lastCaptureTimerMs = 0;
     private int captureProgress = 0;
-    public BukkitTask createParticleTask() {
-        return BukkitUtils.runTaskTimer(() -> {
+    public GameTicker.TickHandle createParticleTask() {
+        return game.getTicker().schedule("biome_node", 5, () -> {
             final var state = scanPlayerInRange();
 
             var color = owningTeam != null
@@ -139,9 +149,9 @@ public class GameBiomeNode implements IGameHolder {
                 color = Colors.RED.get(Colors.SHADE_500);
             }
 
-            createParticleCircle(location, CAPTURE_RADIUS, 75,
-                    BukkitUtils.convertColor(color));
-        }, 10, 5);
+            game.getParticleService().spawnShape(game, Particle.DUST, CAPTURE_CIRCLE, location,
+                    game.getParticleService().dust(BukkitUtils.convertColor(color), 0.8f));
+        });
     }
 
     private void captureNode() {
@@ -161,24 +171,6 @@ public class GameBiomeNode implements IGameHolder {
         }
     }
 
-    private void createParticleCircle(Location center, double radius,
-                                      int particleCount, Color color) {
-        World world = center.getWorld();
-        double angleIncrement = 2 * Math.PI / particleCount;
-
-        for (int i = 0; i < particleCount; i++) {
-            double angle = i * angleIncrement;
-
-            double x = radius * Math.cos(angle);
-            double z = radius * Math.sin(angle);
-
-            Location particleLocation = center.clone().add(x, 0, z);
-            Particle.DustOptions dustOptions = new Particle.DustOptions(color, 0.8f);
-            world.spawnParticle(Particle.DUST, particleLocation, 1,
-                    0, 0, 0, 0, dustOptions);
-        }
-    }
-
     public void cleanup() {
         if (circleParticleTask != null)
             circleParticleTask.cancel();
@@ -4,37 +4,45 @@ import com.github.stefvanschie.inventoryframework.util.UUIDTagType;
 import net.itsthesky.terrawars.api.model.game.generator.GameGeneratorType;
 import net.itsthesky.terrawars.api.model.game.generator.GeneratorDrop;
 import net.itsthesky.terrawars.core.config.GameGeneratorConfig;
+import net.itsthesky.terrawars.core.impl.game.hologram.DisplayHandle;
+import net.itsthesky.terrawars.core.impl.game.hologram.Hologram;
 import net.itsthesky.terrawars.core.impl.upgrade.crystal.EmeraldGeneratorUpgrade;
 import net.itsthesky.terrawars.core.impl.upgrade.ember.GeneratorSpeedUpgrade;
 import net.itsthesky.terrawars.core.impl.upgrade.TeamUpgrades;
 import net.itsthesky.terrawars.util.BukkitUtils;
-import net.itsthesky.terrawars.util.Colors;
 import net.itsthesky.terrawars.util.Keys;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.Sound;
 import org.bukkit.entity.*;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameGenerator {
 
     private final UUID uuid;
-    private final BukkitTask generatingTask;
+    private final GameTicker.TickHandle displayTask;
     private final GameGeneratorType type;
     private final Game game;
     private final GameTeam team;
 
     private final Location spawnLocation;
-    private TextDisplay textDisplay;
-    private BlockDisplay blockDisplay;
+    private final Map<Material, VirtualStack> virtualStacks = new EnumMap<>(Material.class);
+    private Hologram hologram;
+    private DisplayHandle blockDisplay;
 
     public GameGenerator(@NotNull Game game, @NotNull GameGeneratorConfig config) {
         this.uuid = UUID.randomUUID();
@@ -46,8 +54,9 @@ public class GameGenerator {
         this.spawnLocation.setPitch(0);
         this.team = null;
 
-        this.generatingTask = createGeneratingTask();
         this.createDisplays();
+        this.displayTask = createDisplayTask();
+        game.getGeneratorEngine().register(this);
     }
 
     public GameGenerator(@NotNull Game game, @NotNull GameTeam gameTeam) {
@@ -57,19 +66,18 @@ public class GameGenerator {
         this.type = GameGeneratorType.BASE;
 
         this.spawnLocation = gameTeam.getConfig().getGeneratorLocation();
-        this.generatingTask = createGeneratingTask();
+        this.displayTask = null;
+        game.getGeneratorEngine().register(this);
     }
 
     private void createDisplays() {
         final var textLocation = spawnLocation.clone().toCenterLocation().add(0, 2.5, 0);
         final var blockLocation = textLocation.clone().add(-0.25, 0.75, -0.25);
 
-        this.textDisplay = spawnLocation.getWorld().spawn(textLocation, TextDisplay.class, display -> {
-            display.text(Component.text("Loading ..."));
-            display.setBillboard(Display.Billboard.CENTER);
-        });
+        this.hologram = game.getHologramManager().createTextDisplay(textLocation,
+                display -> display.text(Component.text("Loading ...")));
 
-        this.blockDisplay = spawnLocation.getWorld().spawn(blockLocation, BlockDisplay.class, display -> {
+        this.blockDisplay = game.getHologramManager().createBlockDisplay(blockLocation, display -> {
             display.setBlock(type.getBlockIcon().createBlockData());
             display.setGravity(false);
 
@@ -79,76 +87,117 @@ public class GameGenerator {
         });
     }
 
-    private final AtomicInteger roundCount = new AtomicInteger(0);
-
-    private BukkitTask createGeneratingTask() {
-        return BukkitUtils.runTaskTimer(() -> {
-            final int entityCount = spawnLocation.getWorld().getNearbyEntities(spawnLocation, 2, 2, 2,
-                    entity -> entity.getType().equals(EntityType.ITEM) &&
-                            this.uuid.equals(entity.getPersistentDataContainer().getOrDefault(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE, null))).size();
-            if (entityCount > type.getMaxEntities())
-            {
+    private GameTicker.TickHandle createDisplayTask() {
+        return game.getTicker().schedule("generator_display", 20, () -> {
+            if (isFull()) {
                 updateDisplays(true, 0);
                 return;
             }
 
-            final var round = roundCount.getAndIncrement();
-            final var drops = new ArrayList<>(type.getDrops());
-            if (type == GameGeneratorType.BASE && team.getUpgradeLevel(TeamUpgrades.EMERALD_GENERATOR) > 0) {
-                drops.add(new GeneratorDrop(Material.EMERALD,
-                        EmeraldGeneratorUpgrade.LEVEL_GENERATION.get(
-                                team.getUpgradeLevel(TeamUpgrades.EMERALD_GENERATOR)
-                        )));
-            }
+            final var ticks = game.getGeneratorEngine().getTicksUntilNextDrop(this);
+            updateDisplays(false, (int) Math.max(0, ticks / 20));
+        });
+    }
+
+    /**
+     * Compute the drops of this generator, according to the current upgrades of its team.
+     * Called by the {@link GeneratorEngine} when compiling the generator's schedule.
+     * @return the drops of this generator, the first one being the one shown on the displays
+     */
+    public @NotNull List<GeneratorDrop> computeDrops() {
+        if (type != GameGeneratorType.BASE || team == null)
+            return type.getDrops();
 
-            for (var drop : drops) {
-                int roundDelay = drop.getRoundDelay();
-                if (type == GameGeneratorType.BASE) {
-                    final var generatorLevel = team.getUpgradeLevel(TeamUpgrades.GENERATOR_SPEED);
-                    if (generatorLevel != 0) {
-                        final var dropModifier = GeneratorSpeedUpgrade.LEVEL_GENERATION.get(generatorLevel);
-                        if (drop == GameGeneratorType.BASE.getDrops().get(0)) {
-                            roundDelay = dropModifier.ironRound();
-                        } else if (drop == GameGeneratorType.BASE.getDrops().get(1)) {
-                            roundDelay = dropModifier.goldRound();
-                        }
-                    }
-                }
-
-                if (round % roundDelay == 0) {
-                    spawnLocation.getWorld().spawn(spawnLocation, Item.class, item -> {
-                        item.setItemStack(new ItemStack(drop.getMaterial()));
-                        item.getPersistentDataContainer().set(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE, uuid);
-                        item.setVelocity(new Vector(0, 0.1, 0));
-                    });
-                }
+        final var drops = new ArrayList<GeneratorDrop>(type.getDrops().size() + 1);
+        final var generatorLevel = team.getUpgradeLevel(TeamUpgrades.GENERATOR_SPEED);
+        final var dropModifier = generatorLevel == 0 ? null : GeneratorSpeedUpgrade.LEVEL_GENERATION.get(generatorLevel);
+        for (var drop : type.getDrops()) {
+            if (dropModifier != null && drop == GameGeneratorType.BASE.getDrops().get(0)) {
+                drops.add(new GeneratorDrop(drop.getMaterial(), dropModifier.ironRound()));
+            } else if (dropModifier != null && drop == GameGeneratorType.BASE.getDrops().get(1)) {
+                drops.add(new GeneratorDrop(drop.getMaterial(), dropModifier.goldRound()));
+            } else {
+                drops.add(drop);
             }
+        }
 
-            final var firstDrop = type.getDrops().iterator().next();
-            final var next = (firstDrop.getRoundDelay() - (round % firstDrop.getRoundDelay())) / 4;
-            updateDisplays(false, next);
-        }, 20, 5);
+        final var emeraldLevel = team.getUpgradeLevel(TeamUpgrades.EMERALD_GENERATOR);
+        if (emeraldLevel > 0)
+            drops.add(new GeneratorDrop(Material.EMERALD, EmeraldGeneratorUpgrade.LEVEL_GENERATION.get(emeraldLevel)));
+
+        return drops;
+    }
+
+    /**
+     * Drop one item of the given material, unless the generator already holds too many items.
+     * Called by the {@link GeneratorEngine} when the drop is due.
+     * @param material the material to drop
+     */
+    public void drop(@NotNull Material material) {
+        if (isFull())
+            return;
+
+        if (game.getConfig().isVirtualGeneratorStacks()) {
+            virtualStacks.computeIfAbsent(material, VirtualStack::new).add(1);
+            return;
+        }
+
+        spawnLocation.getWorld().spawn(spawnLocation, Item.class, item -> {
+            item.setItemStack(new ItemStack(material));
+            item.getPersistentDataContainer().set(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE, uuid);
+            item.setVelocity(new Vector(0, 0.1, 0));
+        });
+    }
+
+    /**
+     * Whether the generator holds more than {@link GameGeneratorType#getMaxEntities()} items.
+     * With virtual stacks, the cap applies to the pending item count rather than to the number
+     * of dropped entities (which vanilla merging could otherwise keep under the cap).
+     */
+    public boolean isFull() {
+        final int amount = game.getConfig().isVirtualGeneratorStacks() ? getVirtualAmount() : countDroppedItems();
+        return amount > type.getMaxEntities();
+    }
+
+    public @Nullable GameTeam getTeam() {
+        return team;
+    }
+
+    private int countDroppedItems() {
+        return spawnLocation.getWorld().getNearbyEntities(spawnLocation, 2, 2, 2,
+                entity -> entity.getType().equals(EntityType.ITEM) &&
+                        this.uuid.equals(entity.getPersistentDataContainer().getOrDefault(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE, null))).size();
+    }
+
+    private int getVirtualAmount() {
+        int amount = 0;
+        for (VirtualStack stack : virtualStacks.values())
+            amount += stack.amount;
+        return amount;
     }
 
     public void cleanup() {
-        if (textDisplay != null)
-            textDisplay.remove();
+        for (VirtualStack stack : virtualStacks.values())
+            stack.clear();
+        virtualStacks.clear();
+
+        if (hologram != null)
+            hologram.remove();
         if (blockDisplay != null)
             blockDisplay.remove();
-        if (generatingTask != null)
-            generatingTask.cancel();
+        if (displayTask != null)
+            displayTask.cancel();
+        game.getGeneratorEngine().unregister(this);
     }
 
     public void updateDisplays(boolean full, int next) {
-        if (textDisplay == null || blockDisplay == null)
+        if (hologram == null || blockDisplay == null)
             return;
 
-        final var firstLine = game.getChatService().format("<base>✪ <text>" + this.type.getDisplayName() + " <base>✪", this.type.getScheme());
-        final var secondLine = full
-                ? game.getChatService().format("<accent>Too many items in the generator.", Colors.RED)
-                : game.getChatService().format("<text>Next spawn in <base>" + formatTime(next), this.type.getScheme());
-
-        textDisplay.text(game.getChatService().joinNewLine(List.of(firstLine, secondLine)));
+        hologram.setLines(this.type.getScheme(), List.of(
+                "<base>✪ <text>" + this.type.getDisplayName() + " <base>✪",
+                full ? "[red]<accent>Too many items in the generator." : "<text>Next spawn in <base>" + formatTime(next)
+        ));
     }
 
     private String formatTime(int seconds) {
@@ -157,4 +206,82 @@ public class GameGenerator {
         return (minutes > 0 ? minutes + "m " : "") + secondsLeft + "s";
     }
 
+    /**
+     * Pending drops of a single material, kept as a counter and displayed by one item entity
+     * whose stack size reflects the amount. Picking the item up gives the real items.
+     */
+    private final class VirtualStack implements Listener {
+
+        private final Material material;
+        private int amount;
+        private @Nullable Item item;
+
+        private VirtualStack(@NotNull Material material) {
+            this.material = material;
+        }
+
+        private void add(int added) {
+            this.amount += added;
+            refresh();
+        }
+
+        private void refresh() {
+            if (amount <= 0) {
+                clear();
+                return;
+            }
+
+            final var displayed = new ItemStack(material, Math.min(amount, material.getMaxStackSize()));
+            if (item != null && item.isValid()) {
+                item.setItemStack(displayed);
+                return;
+            }
+
+            clear();
+            this.item = spawnLocation.getWorld().spawn(spawnLocation, Item.class, entity -> {
+                entity.setItemStack(displayed);
+                entity.getPersistentDataContainer().set(Keys.GENERATOR_ITEM_KEY, UUIDTagType.INSTANCE, uuid);
+                entity.setUnlimitedLifetime(true);
+                entity.setCanMobPickup(false);
+                entity.setVelocity(new Vector(0, 0.1, 0));
+            });
+            BukkitUtils.subscribe(item.getUniqueId(), this);
+        }
+
+        private void clear() {
+            BukkitUtils.unsubscribe(this);
+            if (item != null)
+                item.remove();
+            this.item = null;
+        }
+
+        @EventHandler(ignoreCancelled = true)
+        public void onPickup(@NotNull EntityPickupItemEvent event) {
+            if (!event.getItem().equals(item))
+                return;
+
+            event.setCancelled(true);
+            if (!(event.getEntity() instanceof Player player))
+                return;
+
+            final var leftovers = player.getInventory().addItem(new ItemStack(material, amount));
+            int given = amount;
+            for (ItemStack leftover : leftovers.values())
+                given -= leftover.getAmount();
+            if (given <= 0)
+                return;
+
+            player.playPickupItemAnimation(event.getItem(), given);
+            player.playSound(player.getLocation(), Sound.ENTITY_ITEM_PICKUP, 0.2f, 1.5f);
+            add(-given);
+        }
+
+        @EventHandler(ignoreCancelled = true)
+        public void onInventoryPickup(@NotNull InventoryPickupItemEvent event) {
+            // hoppers would absorb the display without lowering the amount, duplicating it
+            if (event.getItem().equals(item))
+                event.setCancelled(true);
+        }
+    }
+
 }
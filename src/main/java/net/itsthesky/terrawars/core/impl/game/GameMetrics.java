@@ -0,0 +1,93 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.util.Checks;
+import net.itsthesky.terrawars.util.TimingHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing metrics of a {@link Game}, aggregated per section.
+ * <br>
+ * A section is a named piece of work of the game, prefixed by its kind:
+ * <ul>
+ *     <li><code>tick:&lt;name&gt;</code> for the tickables of the {@link GameTicker};</li>
+ *     <li><code>event:&lt;listener&gt;#&lt;method&gt;</code> for the event handlers subscribed to the game;</li>
+ *     <li><code>ability:&lt;id&gt;</code> for the active abilities used in the game.</li>
+ * </ul>
+ * The whole game tick is recorded under the {@link #GAME_TICK} section.
+ */
+public class GameMetrics {
+
+    public static final String GAME_TICK = "tick";
+
+    private final UUID gameId;
+    private final Map<String, TimingHistogram> sections = new ConcurrentHashMap<>();
+    private volatile long windowStart = System.nanoTime();
+
+    public GameMetrics(@NotNull UUID gameId) {
+        this.gameId = gameId;
+    }
+
+    public void record(@NotNull String section, long nanos) {
+        sections.computeIfAbsent(section, k -> new TimingHistogram()).record(nanos);
+    }
+
+    public void time(@NotNull String section, @NotNull Runnable action) {
+        Checks.notNull(action, "Action cannot be null");
+
+        final long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(section, System.nanoTime() - start);
+        }
+    }
+
+    public void reset() {
+        sections.values().forEach(TimingHistogram::reset);
+        windowStart = System.nanoTime();
+    }
+
+    /**
+     * Take a snapshot of every section, sorted by total time spent (most expensive first).
+     * @return the snapshot, which can be serialized as JSON
+     */
+    public @NotNull Snapshot snapshot() {
+        final double elapsedSeconds = Math.max(1e-3, (System.nanoTime() - windowStart) / 1e9);
+
+        final var list = new ArrayList<SectionSnapshot>(sections.size());
+        for (Map.Entry<String, TimingHistogram> entry : sections.entrySet()) {
+            final var histogram = entry.getValue();
+            final long count = histogram.getCount();
+            if (count == 0)
+                continue;
+
+            list.add(new SectionSnapshot(entry.getKey(), count,
+                    count / elapsedSeconds,
+                    toMicros(histogram.getPercentile(0.5)),
+                    toMicros(histogram.getPercentile(0.99)),
+                    toMicros(histogram.getMaxNanos()),
+                    histogram.getTotalNanos() / 1e6));
+        }
+        list.sort(Comparator.comparingDouble(SectionSnapshot::totalMillis).reversed());
+
+        return new Snapshot(gameId.toString(), System.currentTimeMillis(), elapsedSeconds, List.copyOf(list));
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    public record Snapshot(@NotNull String gameId, long timestamp, double windowSeconds,
+                           @NotNull List<SectionSnapshot> sections) {}
+
+    public record SectionSnapshot(@NotNull String name, long calls, double callsPerSecond,
+                                  double p50Micros, double p99Micros, double maxMicros, double totalMillis) {}
+}
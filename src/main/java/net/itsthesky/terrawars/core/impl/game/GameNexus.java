@@ -3,8 +3,11 @@ package net.itsthesky.terrawars.core.impl.game;
 import com.github.stefvanschie.inventoryframework.util.UUIDTagType;
 import lombok.Getter;
 import net.itsthesky.terrawars.api.model.game.IGameNexus;
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
 import net.itsthesky.terrawars.api.model.game.IGameTeam;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.core.impl.game.hologram.DisplayHandle;
+import net.itsthesky.terrawars.core.impl.game.hologram.Hologram;
 import net.itsthesky.terrawars.util.BukkitUtils;
 import net.itsthesky.terrawars.util.Keys;
 import net.itsthesky.terrawars.util.StringUtils;
@@ -16,22 +19,18 @@ import org.bukkit.damage.DamageType;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
+import java.util.*;
 
 public class GameNexus implements IGameNexus {
 
-    private static final int NEXUS_PROTECTION_RANGE = 3; // in blocks
-
     private final NexusStats stats;
     private final Location location;
     private final GameTeam team;
 
-    private final BukkitTask regenTask;
+    private final GameTicker.TickHandle regenTask;
     private final NexusListener listener;
 
     private NexusCrystal crystal;
@@ -41,6 +40,11 @@ public class GameNexus implements IGameNexus {
     private int level;
     private long lastDamage;
 
+    // damage dealt during the current tick, applied at once by applyPendingDamage
+    private final Map<IGamePlayer, Double> pendingDamage = new LinkedHashMap<>();
+    private final Map<UUID, Double> damageContributions = new HashMap<>();
+    private GameTicker.TickHandle pendingDamageTask;
+
     public GameNexus(@NotNull GameTeam gameTeam) {
         this.location = gameTeam.getConfig().getNexusLocation();
         this.team = gameTeam;
@@ -53,8 +57,8 @@ public class GameNexus implements IGameNexus {
 
         this.crystal = new NexusCrystal();
 
-        BukkitUtils.registerListener(this.listener = new NexusListener());
-        regenTask = BukkitUtils.runTaskTimer(() -> {
+        BukkitUtils.subscribe(this.crystal.crystal.getUniqueId(), this.listener = new NexusListener());
+        regenTask = getGame().getTicker().schedule("nexus_regen", 20, () -> {
             if (System.currentTimeMillis() - lastDamage > stats.getRegenDelay() * 1000L) {
                 if (stats.getHealth() < stats.getMaxHealth()) {
                     stats.setHealth(stats.getHealth() + stats.getRegenPerSec());
@@ -67,7 +71,7 @@ public class GameNexus implements IGameNexus {
                             Sound.BLOCK_BREWING_STAND_BREW,
                             0.2f, 1f
                     );
-                    getGame().getWorld().spawnParticle(
+                    getGame().getParticleService().spawn(getGame(),
                             Particle.HEART,
                             getLocation().clone().add(0, -1, 0),
                             15,
@@ -76,7 +80,7 @@ public class GameNexus implements IGameNexus {
                     );
                 }
             }
-        }, 20, 20);
+        });
     }
 
     @Override
@@ -109,24 +113,36 @@ public class GameNexus implements IGameNexus {
         return team.getGame();
     }
 
+    /**
+     * Get the total damage dealt to this nexus by each attacker, used for kill credit.
+     * @return the dealt damage, by attacker's UUID
+     */
+    public @NotNull Map<UUID, Double> getDamageContributions() {
+        return Collections.unmodifiableMap(damageContributions);
+    }
+
     public void cleanup() {
         this.crystal.cleanup();
         if (this.regenTask != null) this.regenTask.cancel();
-        if (this.listener != null) BukkitUtils.unregisterListener(this.listener);
+        if (this.pendingDamageTask != null) this.pendingDamageTask.cancel();
+        if (this.listener != null) BukkitUtils.unsubscribe(this.listener);
     }
 
     public void destroyNexus() {
         this.isDestroyed = true;
         this.crystal.destroy();
         this.regenTask.cancel();
-        BukkitUtils.unregisterListener(this.listener);
+        if (this.pendingDamageTask != null) this.pendingDamageTask.cancel();
+        this.pendingDamage.clear();
+        BukkitUtils.unsubscribe(this.listener);
+        getGame().getProtectionIndex().unregister(ProtectionIndex.RegionType.NEXUS, team);
 
         getGame().getWorld().playSound(
                 getLocation(),
                 Sound.ENTITY_ENDER_DRAGON_DEATH,
                 1f, 1f
         );
-        getGame().getWorld().spawnParticle(
+        getGame().getParticleService().spawn(getGame(),
                 Particle.EXPLOSION,
                 getLocation(),
                 15,
@@ -138,8 +154,8 @@ public class GameNexus implements IGameNexus {
     public class NexusCrystal {
 
         private EnderCrystal crystal;
-        private TextDisplay display;
-        private BlockDisplay destroyedDisplay;
+        private final Hologram display;
+        private DisplayHandle destroyedDisplay;
 
         public NexusCrystal() {
             location.getWorld().spawn(location.clone().add(0, 1, 0), EnderCrystal.class, crystal -> {
@@ -150,14 +166,11 @@ public class GameNexus implements IGameNexus {
                 this.crystal.setShowingBottom(false);
                 this.crystal.getPersistentDataContainer().set(Keys.NEXUS_TEAM_KEY, UUIDTagType.INSTANCE, team.getId());
             });
-            location.getWorld().spawn(location.clone().add(0, 3, 0), TextDisplay.class, display -> {
-                this.display = display;
-
-                this.display.setBillboard(Display.Billboard.CENTER);
-                this.display.setAlignment(TextDisplay.TextAlignment.CENTER);
-                this.display.setShadowed(false);
-                updateTextDisplay();
+            this.display = getGame().getHologramManager().createTextDisplay(location.clone().add(0, 3, 0), display -> {
+                display.setAlignment(TextDisplay.TextAlignment.CENTER);
+                display.setShadowed(false);
             });
+            updateTextDisplay();
         }
 
         private void updateTextDisplay() {
@@ -177,33 +190,22 @@ public class GameNexus implements IGameNexus {
 
                 final var healthInfos = "<shade-red:200>" + stats.getHealth() + "/" + stats.getMaxHealth() + " <shade-red:500>❤ <shade-slate:500>- <shade-rose:500>" + stats.getRegenPerSec() + " ❤/s";
 
-                final List<String> lines = List.of(
+                this.display.setLines(getTeam().getColorScheme(), List.of(
                         "<accent>✦ <text>" + getTeam().getBiome().getName() + " Nexus <shade-slate:500>- <base>Level " + getLevel() + " <accent>✦",
                         hearts,
                         healthInfos
-                );
-
-                final var chatService = getGame().getChatService();
-
-                this.display.text(chatService.joinNewLine(lines.stream()
-                        .map(line -> chatService.format(line, getTeam().getColorScheme()))
-                        .toList()));
+                ));
             } else {
-                final var lines = List.of(
+                this.display.setLines(getTeam().getColorScheme(), List.of(
                         "<shade-slate:500>✦ <accent>" + getTeam().getBiome().getName() + " Nexus <shade-slate:500>- <base>Level " + getLevel() + " <shade-slate:500>✦",
                         "<shade-red:500>\uD83D\uDC80 <shade-slate:500>- <shade-red:200>DESTROYED <shade-slate:500>- <shade-red:500>\uD83D\uDC80"
-                );
-
-                final var chatService = getGame().getChatService();
-                this.display.text(chatService.joinNewLine(lines.stream()
-                        .map(line -> chatService.format(line, getTeam().getColorScheme()))
-                        .toList()));
+                ));
             }
         }
 
         private void cleanup() {
             if (this.crystal != null) this.crystal.remove();
-            if (this.display != null) this.display.remove();
+            this.display.remove();
             if (this.destroyedDisplay != null) this.destroyedDisplay.remove();
         }
 
@@ -213,11 +215,8 @@ public class GameNexus implements IGameNexus {
                 this.crystal = null;
             }
 
-            this.destroyedDisplay = location.getWorld().spawn(location.clone().add(0, 1, 0), BlockDisplay.class, display -> {
-                this.destroyedDisplay = display;
-
-                this.destroyedDisplay.setBlock(Material.BEDROCK.createBlockData());
-            });
+            this.destroyedDisplay = getGame().getHologramManager().createBlockDisplay(location.clone().add(0, 1, 0),
+                    display -> display.setBlock(Material.BEDROCK.createBlockData()));
 
             updateTextDisplay();
         }
@@ -227,6 +226,72 @@ public class GameNexus implements IGameNexus {
         if (this.crystal != null) this.crystal.updateTextDisplay();
     }
 
+    private void addPendingDamage(@NotNull IGamePlayer attacker, double damage) {
+        pendingDamage.merge(attacker, damage, Double::sum);
+        if (pendingDamageTask == null || pendingDamageTask.isCancelled())
+            pendingDamageTask = getGame().getTicker().runLater("nexus_damage", 0, this::applyPendingDamage);
+    }
+
+    /**
+     * Apply the damage accumulated during the last tick: health, sound and hologram are
+     * updated once, however many hits the nexus took.
+     */
+    private void applyPendingDamage() {
+        this.pendingDamageTask = null;
+        if (isDestroyed || pendingDamage.isEmpty())
+            return;
+
+        double total = 0;
+        for (var entry : pendingDamage.entrySet()) {
+            total += entry.getValue();
+            damageContributions.merge(entry.getKey().getOfflinePlayer().getUniqueId(), entry.getValue(), Double::sum);
+        }
+        final var attackers = List.copyOf(pendingDamage.keySet());
+        pendingDamage.clear();
+        lastDamage = System.currentTimeMillis();
+
+        final var newHealth = (int) Math.round(getStats().getHealth() - total);
+        if (newHealth <= 0) {
+            final var topAttacker = findTopContributor(attackers);
+            final var destroyer = topAttacker.getOfflinePlayer();
+            if (topAttacker.isOnline())
+                getGame().getChatService().sendMessage(topAttacker.getPlayer(), IChatService.MessageSeverity.INFO,
+                        "You destroyed the <accent>" + getTeam().getBiome().getName() + "<text> nexus!");
+            getGame().broadcastMessage(getTeam().getColorScheme(),
+                    "The <accent>" + getTeam().getBiome().getName() + "<text> nexus has been destroyed by <accent>" + destroyer.getName() + "<text>!");
+            destroyNexus();
+        } else {
+            getGame().getWorld().playSound(
+                    getLocation(),
+                    Sound.ENTITY_PHANTOM_HURT,
+                    1f, 1f
+            );
+            getStats().setHealth(newHealth);
+            crystal.updateTextDisplay();
+        }
+    }
+
+    /**
+     * Find the player who dealt the most damage to this nexus over its whole life, for kill credit.
+     * @param lastAttackers the attackers of the last tick, used if no other contributor is still in the game
+     * @return the top contributor still in the game
+     */
+    private @NotNull IGamePlayer findTopContributor(@NotNull List<IGamePlayer> lastAttackers) {
+        IGamePlayer topAttacker = null;
+        double topDamage = 0;
+        for (var entry : damageContributions.entrySet()) {
+            if (entry.getValue() <= topDamage)
+                continue;
+
+            final var attacker = getGame().findGamePlayer(entry.getKey());
+            if (attacker != null) {
+                topAttacker = attacker;
+                topDamage = entry.getValue();
+            }
+        }
+        return topAttacker != null ? topAttacker : lastAttackers.getFirst();
+    }
+
     public class NexusListener implements Listener {
 
         @EventHandler
@@ -245,7 +310,7 @@ public class GameNexus implements IGameNexus {
                 return;
             if (!(sourceEntity instanceof final Player player))
                 return;
-            if (event.getFinalDamage() <= 1.5d || System.currentTimeMillis() - lastDamage < 12)
+            if (event.getFinalDamage() <= 1.5d)
                 return;
 
             final var gamePlayer = getGame().findGamePlayer(player);
@@ -256,47 +321,7 @@ public class GameNexus implements IGameNexus {
                 getGame().getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
                         "You cannot damage your <accent>own nexus<text>!");
             } else {
-                lastDamage = System.currentTimeMillis();
-
-                final var dealt = event.getFinalDamage();
-                final var newHealth = (int) Math.round(getStats().getHealth() - dealt);
-                if (newHealth <= 0) {
-                    getGame().getChatService().sendMessage(player, IChatService.MessageSeverity.INFO,
-                            "You destroyed the <accent>" + getTeam().getBiome().getName() + "<text> nexus!");
-                    getGame().broadcastMessage(getTeam().getColorScheme(),
-                            "The <accent>" + getTeam().getBiome().getName() + "<text> nexus has been destroyed by <accent>" + player.getName() + "<text>!");
-                    destroyNexus();
-                } else {
-                    getGame().getWorld().playSound(
-                            getLocation(),
-                            Sound.ENTITY_PHANTOM_HURT,
-                            1f, 1f
-                    );
-                    getStats().setHealth(newHealth);
-                    GameNexus.this.crystal.updateTextDisplay();
-                }
-            }
-        }
-
-        @EventHandler
-        public void onBlockPlace(@NotNull BlockPlaceEvent event) {
-            final var block = event.getBlock();
-            if (block.getLocation().distance(location) > NEXUS_PROTECTION_RANGE)
-                return;
-
-            final var player = event.getPlayer();
-            final var gamePlayer = getGame().findGamePlayer(player);
-            if (gamePlayer == null)
-                return;
-
-            if (gamePlayer.getTeam().getId().equals(team.getId())) {
-                event.setCancelled(true);
-                getGame().getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
-                        "You cannot build near your <accent>own nexus<text>!");
-            } else {
-                event.setCancelled(true);
-                getGame().getChatService().sendMessage(player, IChatService.MessageSeverity.ERROR,
-                        "You cannot build near the <accent>" + getTeam() + "<text> nexus!");
+                addPendingDamage(gamePlayer, event.getFinalDamage());
             }
         }
 
@@ -25,7 +25,6 @@ import org.bukkit.event.inventory.CraftItemEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,6 +38,10 @@ public class GamePlayer implements IGamePlayer {
     private final OfflinePlayer offlinePlayer;
     private final Game game;
     private final GamePlayerListener listener;
+    /**
+     * Index of this player in its game, used to store per-player state in arrays.
+     */
+    private final int slot;
     private IGameTeam team;
 
     private @Nullable ArmorLevel armorLevel;
@@ -47,12 +50,13 @@ public class GamePlayer implements IGamePlayer {
     private boolean isRespawning = false;
     private @Nullable IAbility lastSelectedAbility;
     private @Nullable IAbility selectedAbility;
-    private BukkitTask updatePlayerTask;
-    private BukkitTask respawnTask;
+    private GameTicker.TickHandle updatePlayerTask;
+    private GameTicker.TickHandle respawnTask;
 
-    public GamePlayer(OfflinePlayer player, Game game) {
+    public GamePlayer(OfflinePlayer player, Game game, int slot) {
         this.offlinePlayer = player;
         this.game = game;
+        this.slot = slot;
 
         this.state = GamePlayerState.WAITING;
 
@@ -60,7 +64,7 @@ public class GamePlayer implements IGamePlayer {
         this.selectedAbility = null;
         this.updatePlayerTask = null;
 
-        BukkitUtils.registerListener(listener = new GamePlayerListener());
+        BukkitUtils.subscribe(player.getUniqueId(), listener = new GamePlayerListener());
     }
 
 
@@ -178,8 +182,8 @@ public class GamePlayer implements IGamePlayer {
             Material.NETHERITE_SWORD
     );
 
-    private BukkitTask createUpdatePlayerTask() {
-        return BukkitUtils.runTaskTimer(() -> {
+    private GameTicker.TickHandle createUpdatePlayerTask() {
+        return game.getTicker().schedule("player_update", 20, () -> {
             if (!isOnline() || !isInGame())
                 return;
 
@@ -207,11 +211,11 @@ public class GamePlayer implements IGamePlayer {
                 player.getInventory().remove(Material.WOODEN_SWORD);
             }
 
-            // Check if below Y is below 115
-            if (player.getLocation().getY() < 115) {
+            // The movement tracker kills players crossing the void threshold; this catches
+            // the ones that survived it or got back in game while already below
+            if (!player.isDead() && player.getLocation().getY() < game.getConfig().getVoidY())
                 player.setHealth(0);
-            }
-        }, 0, 20);
+        });
     }
 
     public void waitingSetup() {
@@ -317,6 +321,9 @@ public class GamePlayer implements IGamePlayer {
 
     @Override
     public void cleanup() {
+        if (this.listener != null)
+            BukkitUtils.unsubscribe(this.listener);
+
         if (!isOnline())
             return;
 
@@ -335,9 +342,6 @@ public class GamePlayer implements IGamePlayer {
             respawnTask.cancel();
             respawnTask = null;
         }
-
-        if (this.listener != null)
-            BukkitUtils.unregisterListener(this.listener);
     }
 
     public class GamePlayerListener implements Listener {
@@ -392,7 +396,7 @@ public class GamePlayer implements IGamePlayer {
                     "<accent>" + player.getName() + "<text> has died!");
 
             final var countdown = new AtomicInteger(game.getConfig().getDeathCooldown());
-            respawnTask = BukkitUtils.runTaskTimer(() -> {
+            respawnTask = game.getTicker().schedule("player_respawn", 20, 5, () -> {
                 final var remaining = countdown.getAndDecrement();
                 if (remaining <= 0) {
                     player.setGameMode(GameMode.SURVIVAL);
@@ -413,7 +417,7 @@ public class GamePlayer implements IGamePlayer {
                             .scheme(Colors.ORANGE)
                             .time(0, 1100, 0));
                 }
-            }, 5, 20);
+            });
         }
 
         @EventHandler
@@ -56,13 +56,13 @@ public class GameShopEntity {
             this.villager = villager;
         });
 
-        BukkitUtils.registerListener(this.listener = new GameShopListener());
+        BukkitUtils.subscribe(this.villager.getUniqueId(), this.listener = new GameShopListener());
     }
 
     public void cleanup() {
         if (villager != null)
             villager.remove();
-        BukkitUtils.unregisterListener(listener);
+        BukkitUtils.unsubscribe(listener);
     }
 
     public class GameShopListener implements Listener {
@@ -95,6 +95,9 @@ public class GameTeam implements IGameTeam {
         } else {
             upgrades.put(upgrade, 1);
         }
+
+        // generator drops depend on the team upgrades
+        game.getGeneratorEngine().recompile(this);
     }
 
     @Override
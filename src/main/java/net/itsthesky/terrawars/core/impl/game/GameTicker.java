@@ -0,0 +1,230 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.TerraWars;
+import net.itsthesky.terrawars.util.BukkitUtils;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Single tick loop of a {@link Game}, shared by all of its subsystems (generators, nodes,
+ * nexuses, players, abilities, ...) instead of each of them owning a {@link BukkitTask}.
+ * <br>
+ * Tickables are stored in a hashed timing wheel: each tick only visits the slot of the
+ * current tick, so a tickable running every 20 ticks costs nothing on the 19 others.
+ * Repeating tickables registered without an explicit phase are spread over their period,
+ * so that e.g. every generator doesn't run on the same tick.
+ * <br>
+ * The whole loop can be {@link #pause() paused}, {@link #resume() resumed}, or
+ * {@link #shutdown() shut down} at once, which cancels every tickable of the game.
+ * <br>
+ * Every tickable run is timed and recorded in the {@link GameMetrics} of the game, under its name.
+ */
+public class GameTicker {
+
+    private static final int WHEEL_SIZE = 64; // must be a power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final Game game;
+    private final List<TickHandle>[] wheel;
+    private final Map<Integer, Integer> nextPhases = new HashMap<>();
+    private List<TickHandle> spare = new ArrayList<>();
+
+    private BukkitTask task;
+    private long currentTick;
+    private boolean paused;
+    private boolean shutdown;
+
+    @SuppressWarnings("unchecked")
+    public GameTicker(@NotNull Game game) {
+        this.game = game;
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++)
+            this.wheel[i] = new ArrayList<>();
+    }
+
+    public void start() {
+        Checks.isTrue(!shutdown, "Cannot start a ticker that has been shut down");
+        if (task != null)
+            return;
+
+        this.task = BukkitUtils.runTaskTimer(this::tick, 1, 1);
+    }
+
+    /**
+     * Schedule a repeating tickable, automatically staggered with the other tickables
+     * of the same period.
+     * @param name the name of the tickable, used as its {@link GameMetrics metrics} section
+     * @param period the period, in ticks
+     * @param action the action to run
+     * @return the handle of the tickable, used to cancel it
+     */
+    public @NotNull TickHandle schedule(@NotNull String name, int period, @NotNull Runnable action) {
+        Checks.isTrue(period > 0, "Period must be positive");
+
+        final int phase = nextPhases.merge(period, 1, Integer::sum) - 1;
+        return schedule(name, period, phase % period, action);
+    }
+
+    /**
+     * Schedule a repeating tickable.
+     * @param name the name of the tickable, used as its {@link GameMetrics metrics} section
+     * @param period the period, in ticks
+     * @param delay the number of ticks before the first run
+     * @param action the action to run
+     * @return the handle of the tickable, used to cancel it
+     */
+    public @NotNull TickHandle schedule(@NotNull String name, int period, int delay, @NotNull Runnable action) {
+        Checks.notNull(name, "Name cannot be null");
+        Checks.isTrue(period > 0, "Period must be positive");
+        Checks.isTrue(delay >= 0, "Delay cannot be negative");
+        Checks.notNull(action, "Action cannot be null");
+
+        return insert(new TickHandle("tick:" + name, action, period, currentTick + 1 + delay));
+    }
+
+    /**
+     * Run an action once, after the given delay.
+     * @param name the name of the tickable, used as its {@link GameMetrics metrics} section
+     * @param delay the number of ticks before the run
+     * @param action the action to run
+     * @return the handle of the tickable, used to cancel it
+     */
+    public @NotNull TickHandle runLater(@NotNull String name, int delay, @NotNull Runnable action) {
+        Checks.notNull(name, "Name cannot be null");
+        Checks.isTrue(delay >= 0, "Delay cannot be negative");
+        Checks.notNull(action, "Action cannot be null");
+
+        return insert(new TickHandle("tick:" + name, action, 0, currentTick + 1 + delay));
+    }
+
+    public void pause() {
+        this.paused = true;
+    }
+
+    public void resume() {
+        this.paused = false;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Stop the loop and cancel every scheduled tickable. The ticker cannot be used anymore afterward.
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        for (List<TickHandle> slot : wheel) {
+            for (TickHandle handle : slot)
+                handle.cancelled = true;
+            slot.clear();
+        }
+    }
+
+    private @NotNull TickHandle insert(@NotNull TickHandle handle) {
+        if (shutdown) {
+            handle.cancelled = true;
+            return handle;
+        }
+
+        wheel[(int) (handle.nextTick & WHEEL_MASK)].add(handle);
+        return handle;
+    }
+
+    private void tick() {
+        if (paused)
+            return;
+
+        final long tick = ++currentTick;
+        final int index = (int) (tick & WHEEL_MASK);
+        final var slot = wheel[index];
+        if (slot.isEmpty())
+            return;
+
+        final long tickStart = System.nanoTime();
+        try {
+            runSlot(tick, index, slot);
+        } finally {
+            game.getMetrics().record(GameMetrics.GAME_TICK, System.nanoTime() - tickStart);
+        }
+    }
+
+    private void runSlot(long tick, int index, @NotNull List<TickHandle> slot) {
+        // swap the slot with a spare list, so tickables (re)scheduled during this tick don't end up in the iterated one
+        wheel[index] = spare;
+        spare = slot;
+        for (TickHandle handle : slot) {
+            if (handle.cancelled)
+                continue;
+            if (handle.nextTick > tick) { // not this lap of the wheel yet
+                wheel[index].add(handle);
+                continue;
+            }
+
+            final long start = System.nanoTime();
+            try {
+                handle.action.run();
+            } catch (Exception e) {
+                TerraWars.instance().getLogger().log(Level.SEVERE,
+                        "An error occurred while ticking " + handle.section + " of game " + game.getId(), e);
+            }
+            game.getMetrics().record(handle.section, System.nanoTime() - start);
+
+            if (shutdown) {
+                slot.clear();
+                return;
+            }
+
+            if (handle.period > 0 && !handle.cancelled) {
+                handle.nextTick = tick + handle.period;
+                insert(handle);
+            } else {
+                handle.cancelled = true;
+            }
+        }
+        slot.clear();
+    }
+
+    /**
+     * Handle of a scheduled tickable.
+     */
+    public static final class TickHandle {
+
+        private final String section;
+        private final Runnable action;
+        private final int period;
+        private long nextTick;
+        private boolean cancelled;
+
+        private TickHandle(@NotNull String section, @NotNull Runnable action, int period, long nextTick) {
+            this.section = section;
+            this.action = action;
+            this.period = period;
+            this.nextTick = nextTick;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.api.model.game.IGameTeam;
+import net.itsthesky.terrawars.api.model.game.generator.GeneratorDrop;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Drives every {@link GameGenerator} of a game.
+ * <br>
+ * Each generator's drops are compiled once into a schedule (a period and a next-due tick
+ * per drop), and every scheduled drop is kept in a single queue sorted by due tick. Each
+ * tick only peeks the head of the queue, so ticks without any due drop cost nothing.
+ * <br>
+ * Schedules are only {@link #recompile(IGameTeam) recompiled} when an upgrade of the
+ * generator's team changes.
+ */
+public class GeneratorEngine {
+
+    /**
+     * Number of ticks in a generator round, see {@link GeneratorDrop#getRoundDelay()}.
+     */
+    public static final int TICKS_PER_ROUND = 5;
+
+    private final GameTicker ticker;
+    private final PriorityQueue<ScheduledDrop> queue = new PriorityQueue<>();
+    private final Map<GameGenerator, ScheduledDrop[]> schedules = new HashMap<>();
+    private GameTicker.TickHandle task;
+
+    public GeneratorEngine(@NotNull GameTicker ticker) {
+        this.ticker = ticker;
+    }
+
+    public void register(@NotNull GameGenerator generator) {
+        Checks.notNull(generator, "Generator cannot be null");
+
+        if (task == null)
+            task = ticker.schedule("generators", 1, this::tick);
+        compile(generator);
+    }
+
+    public void unregister(@NotNull GameGenerator generator) {
+        final var schedule = schedules.remove(generator);
+        if (schedule != null)
+            for (ScheduledDrop drop : schedule)
+                drop.cancelled = true;
+    }
+
+    /**
+     * Recompile the schedules of the generators owned by the given team, after one of its upgrades changed.
+     * @param team the team whose upgrades changed
+     */
+    public void recompile(@NotNull IGameTeam team) {
+        Checks.notNull(team, "Team cannot be null");
+
+        for (GameGenerator generator : List.copyOf(schedules.keySet()))
+            if (generator.getTeam() == team)
+                compile(generator);
+    }
+
+    /**
+     * Get the number of ticks before the next drop of the generator's first drop.
+     * @param generator the generator
+     * @return the remaining ticks, or -1 if the generator is not scheduled
+     */
+    public long getTicksUntilNextDrop(@NotNull GameGenerator generator) {
+        final var schedule = schedules.get(generator);
+        if (schedule == null || schedule.length == 0)
+            return -1;
+
+        return Math.max(0, schedule[0].dueTick - ticker.getCurrentTick());
+    }
+
+    public void shutdown() {
+        if (task != null)
+            task.cancel();
+        queue.clear();
+        schedules.clear();
+    }
+
+    private void compile(@NotNull GameGenerator generator) {
+        final var previous = schedules.get(generator);
+        final var drops = generator.computeDrops();
+        final var schedule = new ScheduledDrop[drops.size()];
+        final long now = ticker.getCurrentTick();
+
+        for (int i = 0; i < schedule.length; i++) {
+            final var drop = drops.get(i);
+            final int period = Math.max(1, drop.getRoundDelay()) * TICKS_PER_ROUND;
+
+            // keep the progress of drops that were already scheduled, without waiting longer than the new period
+            final var old = findDrop(previous, drop.getMaterial());
+            final long dueTick = old == null ? now + 1 : Math.min(old.dueTick, now + period);
+
+            schedule[i] = new ScheduledDrop(generator, drop.getMaterial(), period, dueTick);
+            queue.add(schedule[i]);
+        }
+
+        if (previous != null)
+            for (ScheduledDrop drop : previous)
+                drop.cancelled = true;
+        schedules.put(generator, schedule);
+    }
+
+    private void tick() {
+        final long now = ticker.getCurrentTick();
+
+        ScheduledDrop head;
+        while ((head = queue.peek()) != null && head.dueTick <= now) {
+            queue.poll();
+            if (head.cancelled)
+                continue;
+
+            head.generator.drop(head.material);
+            head.dueTick = now + head.period;
+            queue.add(head);
+        }
+    }
+
+    private static @Nullable ScheduledDrop findDrop(ScheduledDrop @Nullable [] schedule, @NotNull Material material) {
+        if (schedule == null)
+            return null;
+        for (ScheduledDrop drop : schedule)
+            if (drop.material == material)
+                return drop;
+        return null;
+    }
+
+    private static final class ScheduledDrop implements Comparable<ScheduledDrop> {
+
+        private final GameGenerator generator;
+        private final Material material;
+        private final int period;
+        private long dueTick;
+        private boolean cancelled;
+
+        private ScheduledDrop(@NotNull GameGenerator generator, @NotNull Material material, int period, long dueTick) {
+            this.generator = generator;
+            this.material = material;
+            this.period = period;
+            this.dueTick = dueTick;
+        }
+
+        @Override
+        public int compareTo(@NotNull ScheduledDrop other) {
+            return Long.compare(dueTick, other.dueTick);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.TerraWars;
+import net.itsthesky.terrawars.util.BlockPositions;
+import net.itsthesky.terrawars.util.BukkitUtils;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Restores the blocks placed during a game back to air.
+ * <br>
+ * Positions are grouped by chunk, and whole chunks are processed each tick until the
+ * configured time budget is spent, with physics disabled so no neighbour, light-cascade
+ * or drop update is triggered by the removal. The returned future completes (on the
+ * server thread) once every block has been restored.
+ * <br>
+ * When the plugin is disabling, no task can be scheduled anymore, so the reset is then
+ * applied synchronously in one go.
+ */
+public class MapResetTask {
+
+    private final World world;
+    private final long budgetNanos;
+    private final LongConsumer afterRestore;
+    private final ArrayDeque<long[]> pendingChunks;
+    private final CompletableFuture<Void> future;
+
+    private BukkitTask task;
+    private int restoredBlocks;
+
+    /**
+     * Prepare a reset of the given positions.
+     * @param world the world the positions belong to
+     * @param index the placed blocks to restore
+     * @param budgetMillis the maximum time, in milliseconds, spent restoring blocks per tick
+     * @param afterRestore called with each packed position once its block is restored
+     */
+    public MapResetTask(@NotNull World world, @NotNull PlacedBlockIndex index,
+                        int budgetMillis, @NotNull LongConsumer afterRestore) {
+        Checks.notNull(world, "World cannot be null");
+        Checks.notNull(index, "Index cannot be null");
+        Checks.notNull(afterRestore, "After restore callback cannot be null");
+        Checks.isTrue(budgetMillis > 0, "Budget must be positive");
+
+        this.world = world;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.afterRestore = afterRestore;
+        this.pendingChunks = groupByChunk(index);
+        this.future = new CompletableFuture<>();
+    }
+
+    public @NotNull CompletableFuture<Void> start() {
+        if (pendingChunks.isEmpty() || !TerraWars.instance().isEnabled()) {
+            while (!pendingChunks.isEmpty())
+                restore(pendingChunks.poll());
+            future.complete(null);
+            return future;
+        }
+
+        this.task = BukkitUtils.runTaskTimer(this::tick, 1, 1);
+        return future;
+    }
+
+    public int getRestoredBlocks() {
+        return restoredBlocks;
+    }
+
+    private void tick() {
+        final long start = System.nanoTime();
+        while (!pendingChunks.isEmpty() && System.nanoTime() - start < budgetNanos)
+            restore(pendingChunks.poll());
+
+        if (pendingChunks.isEmpty()) {
+            task.cancel();
+            future.complete(null);
+        }
+    }
+
+    private void restore(long @NotNull [] positions) {
+        for (long position : positions) {
+            final var block = BlockPositions.toBlock(world, position);
+            if (!block.isEmpty())
+                block.setType(Material.AIR, false);
+
+            afterRestore.accept(position);
+            restoredBlocks++;
+        }
+    }
+
+    private static @NotNull ArrayDeque<long[]> groupByChunk(@NotNull PlacedBlockIndex index) {
+        final var counts = new HashMap<Long, int[]>();
+        index.forEach(position -> counts.computeIfAbsent(BlockPositions.chunkKey(position), k -> new int[1])[0]++);
+
+        final var chunks = new HashMap<Long, long[]>(counts.size());
+        for (Map.Entry<Long, int[]> entry : counts.entrySet()) {
+            chunks.put(entry.getKey(), new long[entry.getValue()[0]]);
+            entry.getValue()[0] = 0; // reused as the fill cursor
+        }
+
+        index.forEach(position -> {
+            final var chunkKey = BlockPositions.chunkKey(position);
+            chunks.get(chunkKey)[counts.get(chunkKey)[0]++] = position;
+        });
+
+        return new ArrayDeque<>(chunks.values());
+    }
+}
@@ -0,0 +1,318 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.model.game.IGameTeam;
+import net.itsthesky.terrawars.util.BukkitUtils;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single entry point for the movements of a game's players.
+ * <br>
+ * The tracker keeps the last block position of each player in game, and only notifies its
+ * {@link MovementListener listeners} when that position changes: head rotations and moves
+ * within a block are discarded right away. From there, listeners are told about:
+ * <ul>
+ *     <li>the block change itself;</li>
+ *     <li>a change of {@link TerritoryGrid territory}, when the block column changed;</li>
+ *     <li>a crossing of one of the registered Y {@link #addThreshold(int) thresholds}.</li>
+ * </ul>
+ * Only players in a team, in the game's world and not spectating are tracked. A player
+ * leaving that scope (teleport, spectator mode, quit) is untracked, listeners being told
+ * they left their territory.
+ */
+public class MovementTracker {
+
+    private final Game game;
+    private final MoveListener listener;
+    private final Map<IGamePlayer, Tracked> tracked = new HashMap<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private int[] thresholds = new int[0];
+
+    public MovementTracker(@NotNull Game game) {
+        this.game = game;
+        BukkitUtils.subscribe(game, this.listener = new MoveListener());
+    }
+
+    /**
+     * Register a Y threshold: listeners will be notified when a player goes below or back
+     * above it.
+     * @param y the threshold, a player at this Y being considered above it
+     */
+    public void addThreshold(int y) {
+        if (Arrays.binarySearch(thresholds, y) >= 0)
+            return;
+
+        thresholds = Arrays.copyOf(thresholds, thresholds.length + 1);
+        thresholds[thresholds.length - 1] = y;
+        Arrays.sort(thresholds);
+    }
+
+    /**
+     * Listen to the movements of a single player.
+     * @param player the player to listen to
+     * @param listener the listener
+     * @return the subscription, to cancel once the listener isn't needed anymore
+     */
+    public @NotNull Subscription listen(@NotNull IGamePlayer player, @NotNull MovementListener listener) {
+        Checks.notNull(player, "Player cannot be null");
+        return subscribe(player, listener);
+    }
+
+    /**
+     * Listen to the movements of every player of the game.
+     * @param listener the listener
+     * @return the subscription, to cancel once the listener isn't needed anymore
+     */
+    public @NotNull Subscription listenAll(@NotNull MovementListener listener) {
+        return subscribe(null, listener);
+    }
+
+    /**
+     * @param player the player
+     * @return the territory the player was in at their last block change, or null if
+     * neutral or not tracked
+     */
+    public @Nullable IGameTeam getZone(@NotNull IGamePlayer player) {
+        final var entry = tracked.get(player);
+        return entry == null ? null : entry.zone;
+    }
+
+    /**
+     * Compare the territory of each tracked player with the current state of the
+     * {@link TerritoryGrid}, after it has been repainted.
+     */
+    public void refreshZones() {
+        final var grid = game.getTerritoryGrid();
+        for (Tracked entry : List.copyOf(tracked.values())) {
+            final var zone = grid.getOwner(entry.x, entry.z);
+            if (zone != entry.zone) {
+                final var previous = entry.zone;
+                entry.zone = zone;
+                fire(entry.player, l -> l.onZoneChange(entry.player, previous, zone));
+            }
+        }
+    }
+
+    public void shutdown() {
+        BukkitUtils.unsubscribe(listener);
+        subscriptions.clear();
+        tracked.clear();
+    }
+
+    /**
+     * Stop tracking a player, telling listeners they left their territory if any.
+     * They will be tracked again from their next block change.
+     * @param player the player
+     */
+    public void untrack(@NotNull IGamePlayer player) {
+        final var entry = tracked.remove(player);
+        if (entry != null && entry.zone != null) {
+            final var previous = entry.zone;
+            fire(player, l -> l.onZoneChange(player, previous, null));
+        }
+    }
+
+    private @NotNull Subscription subscribe(@Nullable IGamePlayer player, @NotNull MovementListener listener) {
+        Checks.notNull(listener, "Listener cannot be null");
+
+        final var subscription = new Subscription(player, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    private void handleMove(@NotNull IGamePlayer player, @NotNull Location to) {
+        final int x = to.getBlockX(), y = to.getBlockY(), z = to.getBlockZ();
+        final var entry = tracked.get(player);
+        if (entry == null) {
+            // first move since the player got tracked: only report where they are
+            final var zone = game.getTerritoryGrid().getOwner(x, z);
+            tracked.put(player, new Tracked(player, x, y, z, zone));
+            if (zone != null)
+                fire(player, l -> l.onZoneChange(player, null, zone));
+            for (int i = bandOf(y); i < thresholds.length; i++) {
+                final int threshold = thresholds[i];
+                fire(player, l -> l.onThresholdCrossed(player, threshold, true));
+            }
+            return;
+        }
+        if (entry.x == x && entry.y == y && entry.z == z)
+            return;
+
+        final int previousBand = bandOf(entry.y);
+        final boolean columnChanged = entry.x != x || entry.z != z;
+        entry.x = x;
+        entry.y = y;
+        entry.z = z;
+
+        fire(player, l -> l.onBlockChange(player, to));
+
+        if (columnChanged) {
+            final var zone = game.getTerritoryGrid().getOwner(x, z);
+            if (zone != entry.zone) {
+                final var previous = entry.zone;
+                entry.zone = zone;
+                fire(player, l -> l.onZoneChange(player, previous, zone));
+            }
+        }
+
+        final int band = bandOf(y);
+        for (int i = previousBand - 1; i >= band; i--) {
+            final int threshold = thresholds[i];
+            fire(player, l -> l.onThresholdCrossed(player, threshold, true));
+        }
+        for (int i = previousBand; i < band; i++) {
+            final int threshold = thresholds[i];
+            fire(player, l -> l.onThresholdCrossed(player, threshold, false));
+        }
+    }
+
+    /**
+     * @return the number of thresholds the given Y is above of (or at)
+     */
+    private int bandOf(int y) {
+        int band = 0;
+        while (band < thresholds.length && y >= thresholds[band])
+            band++;
+        return band;
+    }
+
+    private void fire(@NotNull IGamePlayer player, @NotNull ListenerCall call) {
+        subscriptions.removeIf(subscription -> subscription.cancelled);
+        for (Subscription subscription : List.copyOf(subscriptions)) {
+            if (subscription.cancelled)
+                continue;
+            if (subscription.player == null || subscription.player == player)
+                call.call(subscription.listener);
+        }
+    }
+
+    /**
+     * Notified when a tracked player changes block. Every callback is optional.
+     */
+    public interface MovementListener {
+
+        /**
+         * @param player the player
+         * @param to the new location of the player
+         */
+        default void onBlockChange(@NotNull IGamePlayer player, @NotNull Location to) {
+        }
+
+        /**
+         * @param player the player
+         * @param from the territory the player left, or null if it was neutral
+         * @param to the territory the player entered, or null if it's neutral
+         */
+        default void onZoneChange(@NotNull IGamePlayer player, @Nullable IGameTeam from, @Nullable IGameTeam to) {
+        }
+
+        /**
+         * @param player the player
+         * @param threshold the crossed threshold
+         * @param below whether the player went below the threshold, or back above it
+         */
+        default void onThresholdCrossed(@NotNull IGamePlayer player, int threshold, boolean below) {
+        }
+    }
+
+    public static final class Subscription {
+
+        private final @Nullable IGamePlayer player;
+        private final MovementListener listener;
+        private boolean cancelled;
+
+        private Subscription(@Nullable IGamePlayer player, @NotNull MovementListener listener) {
+            this.player = player;
+            this.listener = listener;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ListenerCall {
+        void call(@NotNull MovementListener listener);
+    }
+
+    private static final class Tracked {
+
+        private final IGamePlayer player;
+        private int x, y, z;
+        private @Nullable IGameTeam zone;
+
+        private Tracked(@NotNull IGamePlayer player, int x, int y, int z, @Nullable IGameTeam zone) {
+            this.player = player;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.zone = zone;
+        }
+    }
+
+    public class MoveListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onPlayerMove(@NotNull PlayerMoveEvent event) {
+            if (event.hasChangedBlock())
+                update(event.getPlayer(), event.getTo(), event.getPlayer().getGameMode());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onPlayerTeleport(@NotNull PlayerTeleportEvent event) {
+            if (event.hasChangedBlock())
+                update(event.getPlayer(), event.getTo(), event.getPlayer().getGameMode());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onGameModeChange(@NotNull PlayerGameModeChangeEvent event) {
+            final var player = event.getPlayer();
+            update(player, player.getLocation(), event.getNewGameMode());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+            final var gamePlayer = game.getPlayersById().get(event.getPlayer().getUniqueId());
+            if (gamePlayer != null)
+                untrack(gamePlayer);
+        }
+
+        private void update(@NotNull Player player, @NotNull Location to, @NotNull GameMode gameMode) {
+            final var gamePlayer = game.getPlayersById().get(player.getUniqueId());
+            if (gamePlayer == null)
+                return;
+
+            if (gamePlayer.getState() != IGamePlayer.GamePlayerState.TEAM
+                    || to.getWorld() != game.getWorld()
+                    || gameMode == GameMode.SPECTATOR) {
+                untrack(gamePlayer);
+                return;
+            }
+
+            handleMove(gamePlayer, to);
+        }
+    }
+}
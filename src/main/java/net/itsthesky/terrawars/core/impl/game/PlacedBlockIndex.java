@@ -0,0 +1,218 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.util.BlockPositions;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory index of the blocks placed by players during a game.
+ * <br>
+ * Positions are {@link BlockPositions packed} into longs and stored in a primitive
+ * open-addressing (linear probing) table. Each entry stores the index of its placer and
+ * of its shop item (if any) in two small palettes, so no object is allocated per block.
+ * <br>
+ * This index is not thread-safe and must only be used from the server thread.
+ */
+public class PlacedBlockIndex {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int EMPTY = 0;
+    private static final int NO_SHOP_ITEM = 0xFFFF;
+
+    private final List<UUID> placers = new ArrayList<>();
+    private final Map<UUID, Integer> placerIndexes = new HashMap<>();
+    private final List<String> shopItems = new ArrayList<>();
+    private final Map<String, Integer> shopItemIndexes = new HashMap<>();
+
+    private long[] keys;
+    /**
+     * Packed entry values: <code>(placerIndex + 1) << 16 | shopItemIndex</code>.
+     * A value of {@link #EMPTY} marks a free slot.
+     */
+    private int[] values;
+    private int size;
+    private int threshold;
+
+    public PlacedBlockIndex() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public void put(@NotNull Block block, @NotNull UUID placer, @Nullable String shopItemId) {
+        Checks.notNull(block, "Block cannot be null");
+        put(BlockPositions.pack(block), placer, shopItemId);
+    }
+
+    public void put(long position, @NotNull UUID placer, @Nullable String shopItemId) {
+        Checks.notNull(placer, "Placer cannot be null");
+
+        // validate before registering anything, so a failed put leaves the palettes untouched
+        Checks.isTrue(placerIndexes.containsKey(placer) || placers.size() < 0x7FFF,
+                "Too many distinct placers");
+        Checks.isTrue(shopItemId == null || shopItemIndexes.containsKey(shopItemId) || shopItems.size() < NO_SHOP_ITEM,
+                "Too many distinct shop items");
+
+        final int placerIndex = placerIndexes.computeIfAbsent(placer, id -> {
+            placers.add(id);
+            return placers.size() - 1;
+        });
+        final int shopItemIndex = shopItemId == null ? NO_SHOP_ITEM : shopItemIndexes.computeIfAbsent(shopItemId, id -> {
+            shopItems.add(id);
+            return shopItems.size() - 1;
+        });
+
+        final int value = ((placerIndex + 1) << 16) | shopItemIndex;
+        int slot = slotOf(position);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == position) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+
+        keys[slot] = position;
+        values[slot] = value;
+        if (++size >= threshold)
+            allocate(keys.length << 1);
+    }
+
+    public boolean contains(@NotNull Block block) {
+        Checks.notNull(block, "Block cannot be null");
+        return find(BlockPositions.pack(block)) >= 0;
+    }
+
+    public boolean contains(long position) {
+        return find(position) >= 0;
+    }
+
+    public @Nullable UUID getPlacer(@NotNull Block block) {
+        Checks.notNull(block, "Block cannot be null");
+
+        final int slot = find(BlockPositions.pack(block));
+        return slot < 0 ? null : placers.get((values[slot] >>> 16) - 1);
+    }
+
+    public @Nullable String getShopItem(@NotNull Block block) {
+        Checks.notNull(block, "Block cannot be null");
+
+        final int slot = find(BlockPositions.pack(block));
+        if (slot < 0)
+            return null;
+
+        final int shopItemIndex = values[slot] & 0xFFFF;
+        return shopItemIndex == NO_SHOP_ITEM ? null : shopItems.get(shopItemIndex);
+    }
+
+    public boolean remove(@NotNull Block block) {
+        Checks.notNull(block, "Block cannot be null");
+        return remove(BlockPositions.pack(block));
+    }
+
+    public boolean remove(long position) {
+        int slot = find(position);
+        if (slot < 0)
+            return false;
+
+        // backward shift deletion, so probing chains are never broken
+        final int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (values[next] != EMPTY) {
+            final int ideal = slotOf(keys[next]);
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        values[slot] = EMPTY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Iterate over every indexed position. The index must not be modified during the iteration.
+     * @param consumer the consumer receiving each packed position
+     */
+    public void forEach(@NotNull LongConsumer consumer) {
+        Checks.notNull(consumer, "Consumer cannot be null");
+
+        for (int i = 0; i < keys.length; i++)
+            if (values[i] != EMPTY)
+                consumer.accept(keys[i]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        placers.clear();
+        placerIndexes.clear();
+        shopItems.clear();
+        shopItemIndexes.clear();
+
+        keys = null;
+        values = null;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    private int find(long position) {
+        int slot = slotOf(position);
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == position)
+                return slot;
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    private int slotOf(long position) {
+        // murmur3 finalizer, packed positions are far from uniformly distributed
+        long h = position;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & (keys.length - 1);
+    }
+
+    private void allocate(int capacity) {
+        final var oldKeys = keys;
+        final var oldValues = values;
+
+        keys = new long[capacity];
+        values = new int[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+
+        if (oldKeys == null || oldValues == null)
+            return;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == EMPTY)
+                continue;
+
+            int slot = slotOf(oldKeys[i]);
+            while (values[slot] != EMPTY)
+                slot = (slot + 1) & (capacity - 1);
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+            size++;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.model.game.IGameTeam;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial hash of the positions of a game's players, refreshed once per tick.
+ * <br>
+ * Players are bucketed into cells of {@link #CELL_SIZE} blocks, each entry being tagged
+ * with the player's team, so range queries only look at the few cells around the query
+ * and filter allies or enemies without resolving the game player again.
+ * <br>
+ * Only players that are online, in a team, in the game's world and not spectating are
+ * indexed. Positions are those of the last refresh, so they can be up to one tick old.
+ */
+public class PlayerSpatialGrid {
+
+    public static final int CELL_SIZE = 8;
+    private static final int CELL_SHIFT = 3;
+
+    private final Game game;
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final Map<IGamePlayer, Entry> entries = new HashMap<>();
+    private final GameTicker.TickHandle refreshTask;
+
+    public PlayerSpatialGrid(@NotNull Game game) {
+        this.game = game;
+        this.refreshTask = game.getTicker().schedule("player_grid", 1, this::refresh);
+    }
+
+    /**
+     * Find the players within a sphere.
+     * @param center the center of the sphere
+     * @param radius the radius of the sphere
+     * @param relation the relation the players must have with the given team
+     * @param team the reference team, can only be null with {@link Relation#ANY}
+     * @return the found players
+     */
+    public @NotNull List<IGamePlayer> findInRadius(@NotNull Location center, double radius,
+                                                   @NotNull Relation relation, @Nullable IGameTeam team) {
+        Checks.notNull(center, "Center cannot be null");
+        final double radiusSquared = radius * radius;
+        return query(center, radius, radius, radius, relation, team,
+                entry -> entry.distanceSquared(center.getX(), center.getY(), center.getZ()) <= radiusSquared);
+    }
+
+    /**
+     * Find the players within an axis-aligned box.
+     * @param center the center of the box
+     * @param dx the half-size of the box on the X axis
+     * @param dy the half-size of the box on the Y axis
+     * @param dz the half-size of the box on the Z axis
+     * @param relation the relation the players must have with the given team
+     * @param team the reference team, can only be null with {@link Relation#ANY}
+     * @return the found players
+     */
+    public @NotNull List<IGamePlayer> findInBox(@NotNull Location center, double dx, double dy, double dz,
+                                                @NotNull Relation relation, @Nullable IGameTeam team) {
+        Checks.notNull(center, "Center cannot be null");
+        return query(center, dx, dy, dz, relation, team, entry ->
+                Math.abs(entry.x - center.getX()) <= dx
+                        && Math.abs(entry.y - center.getY()) <= dy
+                        && Math.abs(entry.z - center.getZ()) <= dz);
+    }
+
+    /**
+     * Find the players within a cone.
+     * @param origin the apex of the cone
+     * @param direction the direction of the cone's axis
+     * @param radius the length of the cone
+     * @param angle the maximum angle, in degrees, between the axis and a player
+     * @param relation the relation the players must have with the given team
+     * @param team the reference team, can only be null with {@link Relation#ANY}
+     * @return the found players
+     */
+    public @NotNull List<IGamePlayer> findInCone(@NotNull Location origin, @NotNull Vector direction, double radius, double angle,
+                                                 @NotNull Relation relation, @Nullable IGameTeam team) {
+        Checks.notNull(origin, "Origin cannot be null");
+        Checks.notNull(direction, "Direction cannot be null");
+
+        final var axis = direction.clone().normalize();
+        final double radiusSquared = radius * radius;
+        final double minCos = Math.cos(Math.toRadians(angle));
+        return query(origin, radius, radius, radius, relation, team, entry -> {
+            final double x = entry.x - origin.getX(), y = entry.y - origin.getY(), z = entry.z - origin.getZ();
+            final double lengthSquared = x * x + y * y + z * z;
+            if (lengthSquared > radiusSquared || lengthSquared == 0)
+                return false;
+
+            return (x * axis.getX() + y * axis.getY() + z * axis.getZ()) / Math.sqrt(lengthSquared) >= minCos;
+        });
+    }
+
+    public void shutdown() {
+        refreshTask.cancel();
+        cells.clear();
+        entries.clear();
+    }
+
+    private void refresh() {
+        for (List<Entry> cell : cells.values())
+            cell.clear();
+
+        final var world = game.getWorld();
+        for (GamePlayer gamePlayer : game.getPlayersById().values()) {
+            if (gamePlayer.getState() != IGamePlayer.GamePlayerState.TEAM || !gamePlayer.isOnline()) {
+                entries.remove(gamePlayer);
+                continue;
+            }
+
+            final var team = gamePlayer.getTeam();
+            final var player = gamePlayer.getPlayer();
+            if (player.getWorld() != world || player.getGameMode() == GameMode.SPECTATOR) {
+                entries.remove(gamePlayer);
+                continue;
+            }
+
+            final var entry = entries.computeIfAbsent(gamePlayer, Entry::new);
+            entry.update(team, player.getLocation());
+            cells.computeIfAbsent(cellKey(entry.x, entry.z), key -> new ArrayList<>(4)).add(entry);
+        }
+    }
+
+    private @NotNull List<IGamePlayer> query(@NotNull Location center, double dx, double dy, double dz,
+                                             @NotNull Relation relation, @Nullable IGameTeam team,
+                                             @NotNull EntryPredicate predicate) {
+        Checks.notNull(relation, "Relation cannot be null");
+        Checks.isTrue(relation == Relation.ANY || team != null, "Team cannot be null for relation " + relation);
+
+        final var found = new ArrayList<IGamePlayer>();
+        if (center.getWorld() != game.getWorld())
+            return found;
+
+        final int minCellX = cellOf(center.getX() - dx), maxCellX = cellOf(center.getX() + dx);
+        final int minCellZ = cellOf(center.getZ() - dz), maxCellZ = cellOf(center.getZ() + dz);
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                final var cell = cells.get(cellKey(cellX, cellZ));
+                if (cell == null)
+                    continue;
+
+                for (Entry entry : cell)
+                    if (relation.matches(entry.team, team) && predicate.test(entry))
+                        found.add(entry.player);
+            }
+        }
+        return found;
+    }
+
+    private static int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(double x, double z) {
+        return cellKey(cellOf(x), cellOf(z));
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The relation a found player must have with the reference team of a query.
+     */
+    public enum Relation {
+        ANY,
+        ALLY,
+        ENEMY;
+
+        private boolean matches(@NotNull IGameTeam playerTeam, @Nullable IGameTeam team) {
+            return switch (this) {
+                case ANY -> true;
+                case ALLY -> playerTeam == team;
+                case ENEMY -> playerTeam != team;
+            };
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryPredicate {
+        boolean test(@NotNull Entry entry);
+    }
+
+    private static final class Entry {
+
+        private final IGamePlayer player;
+        private IGameTeam team;
+        private double x, y, z;
+
+        private Entry(@NotNull IGamePlayer player) {
+            this.player = player;
+        }
+
+        private void update(@NotNull IGameTeam team, @NotNull Location location) {
+            this.team = team;
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+        }
+
+        private double distanceSquared(double x, double y, double z) {
+            final double dx = this.x - x, dy = this.y - y, dz = this.z - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.core.config.GameConfig;
+import net.itsthesky.terrawars.core.config.GameGeneratorConfig;
+import net.itsthesky.terrawars.util.BlockPositions;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the protected areas of a game (nexuses, spawns, shops, generators and team
+ * chests) and of its build height limits.
+ * <br>
+ * Regions are compiled once, when the game starts, into buckets keyed by chunk: a lookup
+ * only tests the few regions overlapping the block's chunk. When several regions contain
+ * the same block, the one with the lowest {@link RegionType} ordinal wins. Regions can
+ * later be {@link #unregister(RegionType, GameTeam) unregistered}, but never added.
+ */
+public class ProtectionIndex {
+
+    private final int buildMinY;
+    private final int buildMaxY;
+    private final Map<Long, Region[]> buckets;
+
+    private ProtectionIndex(int buildMinY, int buildMaxY, @NotNull Map<Long, Region[]> buckets) {
+        this.buildMinY = buildMinY;
+        this.buildMaxY = buildMaxY;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Compile the protected regions of a game.
+     * @param config the config of the game, giving the radii and build height
+     * @param teams the teams playing the game
+     * @return the compiled index
+     */
+    public static @NotNull ProtectionIndex compile(@NotNull GameConfig config, @NotNull List<GameTeam> teams) {
+        Checks.notNull(config, "Config cannot be null");
+        Checks.notNull(teams, "Teams cannot be null");
+
+        final var regions = new ArrayList<Region>();
+        for (GameTeam team : teams) {
+            final var teamConfig = team.getConfig();
+            addRegion(regions, RegionType.TEAM_CHEST, team, teamConfig.getChestLocation(), 0);
+            addRegion(regions, RegionType.NEXUS, team, teamConfig.getNexusLocation(), config.getNexusProtectionRadius());
+            addRegion(regions, RegionType.SPAWN, team, teamConfig.getSpawnLocation(), config.getSpawnProtectionRadius());
+            addRegion(regions, RegionType.SHOP, team, teamConfig.getShopkeeperLocation(), config.getShopProtectionRadius());
+            addRegion(regions, RegionType.SHOP, team, teamConfig.getUpgradesLocation(), config.getShopProtectionRadius());
+            addRegion(regions, RegionType.GENERATOR, team, teamConfig.getGeneratorLocation(), config.getGeneratorProtectionRadius());
+        }
+        for (GameGeneratorConfig generator : config.getGenerators())
+            addRegion(regions, RegionType.GENERATOR, null, generator.getGeneratorLocation(), config.getGeneratorProtectionRadius());
+
+        final var lists = new HashMap<Long, List<Region>>();
+        for (Region region : regions) {
+            for (int chunkX = region.minX >> 4; chunkX <= region.maxX >> 4; chunkX++)
+                for (int chunkZ = region.minZ >> 4; chunkZ <= region.maxZ >> 4; chunkZ++)
+                    lists.computeIfAbsent(BlockPositions.chunkKey(chunkX, chunkZ), key -> new ArrayList<>()).add(region);
+        }
+
+        final var buckets = new HashMap<Long, Region[]>(lists.size() * 2);
+        for (var entry : lists.entrySet()) {
+            entry.getValue().sort(Comparator.comparing(Region::type));
+            buckets.put(entry.getKey(), entry.getValue().toArray(Region[]::new));
+        }
+
+        return new ProtectionIndex(config.getBuildMinY(), config.getBuildMaxY(), buckets);
+    }
+
+    /**
+     * Get the region protecting the given block.
+     * @param block the block, in the game's world
+     * @return the protecting region, or null if the block isn't protected
+     */
+    public @Nullable Region find(@NotNull Block block) {
+        return find(block.getX(), block.getY(), block.getZ());
+    }
+
+    public @Nullable Region find(int x, int y, int z) {
+        final var bucket = buckets.get(BlockPositions.chunkKey(x >> 4, z >> 4));
+        if (bucket == null)
+            return null;
+
+        for (Region region : bucket)
+            if (region.contains(x, y, z))
+                return region;
+        return null;
+    }
+
+    /**
+     * Stop protecting the regions of the given type owned by a team, e.g. once its nexus got destroyed.
+     * @param type the type of the regions
+     * @param owner the team owning the regions
+     */
+    public void unregister(@NotNull RegionType type, @NotNull GameTeam owner) {
+        for (var iterator = buckets.entrySet().iterator(); iterator.hasNext(); ) {
+            final var entry = iterator.next();
+            final var kept = Arrays.stream(entry.getValue())
+                    .filter(region -> region.type() != type || region.owner() != owner)
+                    .toArray(Region[]::new);
+            if (kept.length == 0)
+                iterator.remove();
+            else if (kept.length != entry.getValue().length)
+                entry.setValue(kept);
+        }
+    }
+
+    /**
+     * @param y the Y of a block
+     * @return whether blocks can't be placed at this height
+     */
+    public boolean isOutsideBuildHeight(int y) {
+        return y < buildMinY || y > buildMaxY;
+    }
+
+    private static void addRegion(@NotNull List<Region> regions, @NotNull RegionType type, @Nullable GameTeam owner,
+                                  @Nullable Location center, int radius) {
+        if (center == null || radius < 0)
+            return;
+
+        final int x = center.getBlockX(), y = center.getBlockY(), z = center.getBlockZ();
+        regions.add(new Region(type, owner, x, y, z, radius * radius,
+                x - radius, y - radius, z - radius, x + radius, y + radius, z + radius));
+    }
+
+    public enum RegionType {
+        TEAM_CHEST("team chest"),
+        NEXUS("nexus"),
+        SPAWN("spawn"),
+        SHOP("shop"),
+        GENERATOR("generator");
+
+        private final String displayName;
+
+        RegionType(@NotNull String displayName) {
+            this.displayName = displayName;
+        }
+
+        public @NotNull String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * A protected sphere of blocks, given with its bounding box.
+     * @param type the kind of area
+     * @param owner the team owning the area, or null for shared areas (e.g. diamond generators)
+     */
+    public record Region(@NotNull RegionType type, @Nullable GameTeam owner,
+                         int centerX, int centerY, int centerZ, int radiusSquared,
+                         int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+
+        public boolean contains(int x, int y, int z) {
+            if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ)
+                return false;
+
+            final int dx = x - centerX, dy = y - centerY, dz = z - centerZ;
+            return dx * dx + dy * dy + dz * dz <= radiusSquared;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.util.BlockPositions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An immutable set of block offsets, relative to the origin block of a
+ * {@link TemporaryStructure temporary structure}.
+ * <br>
+ * Shapes that don't depend on the caster's orientation are meant to be built once
+ * (typically in a <code>static final</code> field) and placed many times.
+ */
+public final class StructureShape {
+
+    private final int[] offsets;
+
+    private StructureShape(int @NotNull [] offsets) {
+        this.offsets = offsets;
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return offsets.length / 3;
+    }
+
+    public int getX(int index) {
+        return offsets[index * 3];
+    }
+
+    public int getY(int index) {
+        return offsets[index * 3 + 1];
+    }
+
+    public int getZ(int index) {
+        return offsets[index * 3 + 2];
+    }
+
+    public static final class Builder {
+
+        // packed offsets, in insertion order, without duplicates
+        private final Set<Long> offsets = new LinkedHashSet<>();
+
+        private Builder() {
+        }
+
+        public @NotNull Builder add(int x, int y, int z) {
+            offsets.add(BlockPositions.pack(x, y, z));
+            return this;
+        }
+
+        /**
+         * Add every offset of a box, all bounds being inclusive.
+         */
+        public @NotNull Builder box(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            for (int y = minY; y <= maxY; y++)
+                for (int x = minX; x <= maxX; x++)
+                    for (int z = minZ; z <= maxZ; z++)
+                        add(x, y, z);
+            return this;
+        }
+
+        /**
+         * Add the vertical sides of a box, all bounds being inclusive.
+         */
+        public @NotNull Builder walls(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            for (int y = minY; y <= maxY; y++)
+                for (int x = minX; x <= maxX; x++)
+                    for (int z = minZ; z <= maxZ; z++)
+                        if (x == minX || x == maxX || z == minZ || z == maxZ)
+                            add(x, y, z);
+            return this;
+        }
+
+        public @NotNull StructureShape build() {
+            final var packed = new int[offsets.size() * 3];
+            int index = 0;
+            for (long offset : offsets) {
+                packed[index++] = BlockPositions.unpackX(offset);
+                packed[index++] = BlockPositions.unpackY(offset);
+                packed[index++] = BlockPositions.unpackZ(offset);
+            }
+            return new StructureShape(packed);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.util.BlockPositions;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A group of blocks placed by an ability for a limited time, managed by the game's
+ * {@link TemporaryStructureManager}.
+ * <br>
+ * Blocks are only placed where the world is free (air, and optionally water) and not
+ * already taken by another active structure. They are registered as placed blocks of the
+ * game, so players can break them (unless the structure is unbreakable) and they are
+ * always rolled back when the structure expires, is removed, or the game ends.
+ */
+public final class TemporaryStructure {
+
+    private final TemporaryStructureManager manager;
+    private final World world;
+    private final Location center;
+    private final UUID owner;
+    private final Material material;
+    private final boolean breakable;
+    private final long expiryTick;
+    private final @Nullable Consumer<TemporaryStructure> onExpire;
+
+    // placed positions grouped by chunk, and the material each one replaced
+    final long[][] positions;
+    final Material[][] replaced;
+    private final List<Block> blocks;
+    private boolean removed;
+
+    TemporaryStructure(@NotNull TemporaryStructureManager manager, @NotNull Builder builder, long expiryTick,
+                       long @NotNull [][] positions, @NotNull Material @NotNull [][] replaced, @NotNull List<Block> blocks) {
+        this.manager = manager;
+        this.world = builder.world;
+        this.center = builder.center;
+        this.owner = builder.owner;
+        this.material = builder.material;
+        this.breakable = builder.breakable;
+        this.onExpire = builder.onExpire;
+        this.expiryTick = expiryTick;
+        this.positions = positions;
+        this.replaced = replaced;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Remove the structure right away, without calling its expiry callback.
+     */
+    public void remove() {
+        manager.remove(this, false);
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    /**
+     * @return whether no block could be placed at all
+     */
+    public boolean isEmpty() {
+        return positions.length == 0;
+    }
+
+    /**
+     * @return the blocks placed by this structure that weren't broken since, including
+     * once the structure got removed
+     */
+    public @NotNull List<Block> getBlocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+
+    public @NotNull World getWorld() {
+        return world;
+    }
+
+    public @NotNull Location getCenter() {
+        return center.clone();
+    }
+
+    public @NotNull UUID getOwner() {
+        return owner;
+    }
+
+    public @NotNull Material getMaterial() {
+        return material;
+    }
+
+    public boolean isBreakable() {
+        return breakable;
+    }
+
+    long getExpiryTick() {
+        return expiryTick;
+    }
+
+    @Nullable Consumer<TemporaryStructure> getOnExpire() {
+        return onExpire;
+    }
+
+    void forget(@NotNull Block block) {
+        blocks.remove(block);
+    }
+
+    void markRemoved() {
+        this.removed = true;
+    }
+
+    /**
+     * Declares the blocks and the behavior of a structure, before it's placed.
+     */
+    public static final class Builder {
+
+        private final TemporaryStructureManager manager;
+        final World world;
+        final Set<Long> requested = new LinkedHashSet<>();
+        private Location center;
+        UUID owner;
+        Material material;
+        private int durationTicks;
+        boolean replaceWater;
+        private boolean breakable = true;
+        private @Nullable Consumer<TemporaryStructure> onExpire;
+
+        Builder(@NotNull TemporaryStructureManager manager, @NotNull World world) {
+            this.manager = manager;
+            this.world = world;
+        }
+
+        /**
+         * Add the blocks of a shape.
+         * @param origin the location of the shape's origin block
+         * @param shape the shape
+         */
+        public @NotNull Builder shape(@NotNull Location origin, @NotNull StructureShape shape) {
+            Checks.notNull(origin, "Origin cannot be null");
+            Checks.notNull(shape, "Shape cannot be null");
+
+            final int x = origin.getBlockX(), y = origin.getBlockY(), z = origin.getBlockZ();
+            for (int i = 0; i < shape.size(); i++)
+                requested.add(BlockPositions.pack(x + shape.getX(i), y + shape.getY(i), z + shape.getZ(i)));
+            if (center == null)
+                center = origin.toBlockLocation();
+            return this;
+        }
+
+        public @NotNull Builder block(@NotNull Block block) {
+            Checks.notNull(block, "Block cannot be null");
+            requested.add(BlockPositions.pack(block));
+            return this;
+        }
+
+        /**
+         * @param center the location used for the effects of the structure, by default
+         *               the origin of the first shape or the first block
+         */
+        public @NotNull Builder center(@NotNull Location center) {
+            this.center = center.clone();
+            return this;
+        }
+
+        public @NotNull Builder owner(@NotNull UUID owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        public @NotNull Builder material(@NotNull Material material) {
+            this.material = material;
+            return this;
+        }
+
+        public @NotNull Builder duration(int ticks) {
+            this.durationTicks = ticks;
+            return this;
+        }
+
+        /**
+         * Also place blocks where there is water (restored once the structure is removed).
+         */
+        public @NotNull Builder replaceWater() {
+            this.replaceWater = true;
+            return this;
+        }
+
+        /**
+         * Prevent players from breaking the blocks of the structure.
+         */
+        public @NotNull Builder unbreakable() {
+            this.breakable = false;
+            return this;
+        }
+
+        /**
+         * @param onExpire called once the structure expired and its blocks got removed
+         */
+        public @NotNull Builder onExpire(@Nullable Consumer<TemporaryStructure> onExpire) {
+            this.onExpire = onExpire;
+            return this;
+        }
+
+        public @NotNull TemporaryStructure place() {
+            Checks.notNull(owner, "Owner cannot be null");
+            Checks.notNull(material, "Material cannot be null");
+            Checks.isTrue(durationTicks > 0, "Duration must be positive");
+
+            if (center == null && !requested.isEmpty()) {
+                final long first = requested.iterator().next();
+                center = new Location(world, BlockPositions.unpackX(first),
+                        BlockPositions.unpackY(first), BlockPositions.unpackZ(first));
+            }
+            if (center == null)
+                center = new Location(world, 0, 0, 0);
+
+            return manager.place(this, durationTicks);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.util.BlockPositions;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Places, tracks and rolls back the {@link TemporaryStructure temporary structures} of a game.
+ * <br>
+ * Blocks are placed and removed chunk by chunk, without physics. Each position can only
+ * belong to one active structure at a time, so overlapping structures never remove each
+ * other's blocks. Expirations are kept in a single queue, checked every tick on the game's
+ * ticker (and thus paused with it), and every structure still active when the game ends is
+ * rolled back by {@link #shutdown()}.
+ */
+public class TemporaryStructureManager {
+
+    private final Game game;
+    private final Map<Long, TemporaryStructure> occupied = new HashMap<>();
+    private final Set<TemporaryStructure> active = new LinkedHashSet<>();
+    private final PriorityQueue<TemporaryStructure> expirations =
+            new PriorityQueue<>(Comparator.comparingLong(TemporaryStructure::getExpiryTick));
+    private final GameTicker.TickHandle expiryTask;
+
+    public TemporaryStructureManager(@NotNull Game game) {
+        this.game = game;
+        this.expiryTask = game.getTicker().schedule("structure_expiry", 1, this::expire);
+    }
+
+    /**
+     * Start declaring a new structure.
+     * @param world the world of the structure, the game's world
+     * @return the builder of the structure
+     */
+    public @NotNull TemporaryStructure.Builder create(@NotNull World world) {
+        Checks.notNull(world, "World cannot be null");
+        return new TemporaryStructure.Builder(this, world);
+    }
+
+    /**
+     * @param block the block
+     * @return the active structure the block belongs to, or null if none
+     */
+    public @Nullable TemporaryStructure getStructureAt(@NotNull Block block) {
+        if (block.getWorld() != game.getWorld())
+            return null;
+        return occupied.get(BlockPositions.pack(block));
+    }
+
+    /**
+     * @param block the block
+     * @return whether the block belongs to an active, unbreakable structure
+     */
+    public boolean isProtected(@NotNull Block block) {
+        final var structure = getStructureAt(block);
+        return structure != null && !structure.isBreakable();
+    }
+
+    /**
+     * Forget a block of a structure that got broken, so its position is free again
+     * and won't be touched when the structure is removed.
+     * @param block the broken block
+     */
+    public void release(@NotNull Block block) {
+        if (block.getWorld() != game.getWorld())
+            return;
+
+        final var structure = occupied.remove(BlockPositions.pack(block));
+        if (structure != null)
+            structure.forget(block);
+    }
+
+    /**
+     * Remove every active structure and stop the expiry task.
+     */
+    public void shutdown() {
+        expiryTask.cancel();
+        for (TemporaryStructure structure : List.copyOf(active))
+            remove(structure, false);
+        expirations.clear();
+    }
+
+    @NotNull TemporaryStructure place(@NotNull TemporaryStructure.Builder builder, int durationTicks) {
+        final var world = builder.world;
+
+        // group the free positions by chunk
+        final var byChunk = new LinkedHashMap<Long, List<Long>>();
+        for (long position : builder.requested) {
+            if (occupied.containsKey(position))
+                continue;
+            byChunk.computeIfAbsent(BlockPositions.chunkKey(position), k -> new ArrayList<>()).add(position);
+        }
+
+        final var positions = new ArrayList<long[]>(byChunk.size());
+        final var replaced = new ArrayList<Material[]>(byChunk.size());
+        final var blocks = new ArrayList<Block>();
+        for (List<Long> chunkPositions : byChunk.values()) {
+            final long first = chunkPositions.get(0);
+            final var chunk = world.getChunkAt(BlockPositions.unpackX(first) >> 4, BlockPositions.unpackZ(first) >> 4);
+
+            final var placed = new long[chunkPositions.size()];
+            final var previous = new Material[chunkPositions.size()];
+            int count = 0;
+            for (long position : chunkPositions) {
+                final var block = chunk.getBlock(BlockPositions.unpackX(position) & 15,
+                        BlockPositions.unpackY(position), BlockPositions.unpackZ(position) & 15);
+                final var type = block.getType();
+                if (!type.isAir() && !(builder.replaceWater && type == Material.WATER))
+                    continue;
+
+                block.setType(builder.material, false);
+                game.markPlacedBlock(block, builder.owner, null);
+                placed[count] = position;
+                previous[count] = type;
+                blocks.add(block);
+                count++;
+            }
+
+            if (count > 0) {
+                positions.add(Arrays.copyOf(placed, count));
+                replaced.add(Arrays.copyOf(previous, count));
+            }
+        }
+
+        final var structure = new TemporaryStructure(this, builder,
+                game.getTicker().getCurrentTick() + durationTicks,
+                positions.toArray(long[][]::new), replaced.toArray(Material[][]::new), blocks);
+        if (structure.isEmpty()) {
+            structure.markRemoved();
+            return structure;
+        }
+
+        for (long[] chunkPositions : structure.positions)
+            for (long position : chunkPositions)
+                occupied.put(position, structure);
+        active.add(structure);
+        expirations.add(structure);
+        return structure;
+    }
+
+    void remove(@NotNull TemporaryStructure structure, boolean expired) {
+        if (structure.isRemoved())
+            return;
+
+        structure.markRemoved();
+        active.remove(structure);
+        if (!expired)
+            expirations.remove(structure);
+
+        final var world = structure.getWorld();
+        for (int i = 0; i < structure.positions.length; i++) {
+            final var chunkPositions = structure.positions[i];
+            final var chunk = world.getChunkAt(BlockPositions.unpackX(chunkPositions[0]) >> 4,
+                    BlockPositions.unpackZ(chunkPositions[0]) >> 4);
+
+            for (int j = 0; j < chunkPositions.length; j++) {
+                final long position = chunkPositions[j];
+                if (occupied.get(position) != structure)
+                    continue; // broken since, see #release
+                occupied.remove(position);
+
+                final var block = chunk.getBlock(BlockPositions.unpackX(position) & 15,
+                        BlockPositions.unpackY(position), BlockPositions.unpackZ(position) & 15);
+                if (game.unmarkPlacedBlock(block) && block.getType() == structure.getMaterial())
+                    block.setType(structure.replaced[i][j], false);
+            }
+        }
+
+        if (expired && structure.getOnExpire() != null)
+            structure.getOnExpire().accept(structure);
+    }
+
+    private void expire() {
+        final long now = game.getTicker().getCurrentTick();
+        while (!expirations.isEmpty() && expirations.peek().getExpiryTick() <= now) {
+            final var structure = expirations.poll();
+            remove(structure, true); // no-op if it was removed early
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package net.itsthesky.terrawars.core.impl.game;
+
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.model.game.IGameTeam;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed map of the teams' territories of a game, by block column.
+ * <br>
+ * A team's territory is made of the columns around its nexus, plus the columns around
+ * the biome nodes it captured. The owner of each column of the game area is packed into
+ * a byte array when the game starts, and the area around a node is repainted when the
+ * node changes owner, so a lookup is a single array access.
+ * <br>
+ * Abilities can {@link #watch(IGamePlayer, ZoneListener) watch} a player to be notified
+ * when they enter or leave a territory, through the game's {@link MovementTracker}.
+ */
+public class TerritoryGrid {
+
+    private static final byte NEUTRAL = 0;
+
+    private final Game game;
+
+    private IGameTeam[] teams = new IGameTeam[0];
+    private int[] bases = new int[0]; // x, z pairs, indexed like teams
+    private final List<Node> nodes = new ArrayList<>();
+    private int baseRadius;
+    private int nodeRadius;
+
+    private int minX, minZ, width, depth;
+    private byte[] owners = new byte[0];
+
+    public TerritoryGrid(@NotNull Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Compute the territories of the given teams, all biome nodes being neutral.
+     * @param teams the teams of the game, at most 127
+     */
+    public void build(@NotNull List<GameTeam> teams) {
+        Checks.notNull(teams, "Teams cannot be null");
+        Checks.isTrue(teams.size() < Byte.MAX_VALUE, "Too many teams");
+
+        final var config = game.getConfig();
+        this.baseRadius = Math.max(0, config.getTerritoryRadius());
+        this.nodeRadius = Math.max(0, config.getNodeTerritoryRadius());
+        this.teams = teams.toArray(IGameTeam[]::new);
+        this.bases = new int[teams.size() * 2];
+        this.nodes.clear();
+
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < teams.size(); i++) {
+            final var nexus = teams.get(i).getConfig().getNexusLocation();
+            bases[i * 2] = nexus.getBlockX();
+            bases[i * 2 + 1] = nexus.getBlockZ();
+            minX = Math.min(minX, nexus.getBlockX() - baseRadius);
+            minZ = Math.min(minZ, nexus.getBlockZ() - baseRadius);
+            maxX = Math.max(maxX, nexus.getBlockX() + baseRadius);
+            maxZ = Math.max(maxZ, nexus.getBlockZ() + baseRadius);
+        }
+        for (Location node : config.getBiomeNodes()) {
+            nodes.add(new Node(node.getBlockX(), node.getBlockZ()));
+            minX = Math.min(minX, node.getBlockX() - nodeRadius);
+            minZ = Math.min(minZ, node.getBlockZ() - nodeRadius);
+            maxX = Math.max(maxX, node.getBlockX() + nodeRadius);
+            maxZ = Math.max(maxZ, node.getBlockZ() + nodeRadius);
+        }
+
+        if (minX > maxX) {
+            this.width = this.depth = 0;
+            this.owners = new byte[0];
+            return;
+        }
+
+        this.minX = minX;
+        this.minZ = minZ;
+        this.width = maxX - minX + 1;
+        this.depth = maxZ - minZ + 1;
+        this.owners = new byte[width * depth];
+        paint(minX, minZ, maxX, maxZ);
+        game.getMovementTracker().refreshZones();
+    }
+
+    /**
+     * Get the team owning the column of the given location.
+     * @param location the location, in the game's world
+     * @return the owning team, or null if the column is neutral
+     */
+    public @Nullable IGameTeam getOwner(@NotNull Location location) {
+        return getOwner(location.getBlockX(), location.getBlockZ());
+    }
+
+    public @Nullable IGameTeam getOwner(int x, int z) {
+        final int localX = x - minX, localZ = z - minZ;
+        if (localX < 0 || localZ < 0 || localX >= width || localZ >= depth)
+            return null;
+
+        final byte owner = owners[localZ * width + localX];
+        return owner == NEUTRAL ? null : teams[owner - 1];
+    }
+
+    /**
+     * Whether the given location is in the territory of the given team.
+     * @param location the location, in the game's world
+     * @param team the team
+     * @return true if the team owns the location's column
+     */
+    public boolean isInTerritory(@NotNull Location location, @NotNull IGameTeam team) {
+        return location.getWorld() == game.getWorld() && getOwner(location) == team;
+    }
+
+    /**
+     * Repaint the area of a biome node after it changed owner.
+     * @param location the location of the node
+     * @param owner the new owner of the node, or null if it's now neutral
+     */
+    public void setNodeOwner(@NotNull Location location, @Nullable IGameTeam owner) {
+        final int x = location.getBlockX(), z = location.getBlockZ();
+        for (Node node : nodes) {
+            if (node.x == x && node.z == z) {
+                node.owner = (byte) (owner == null ? NEUTRAL : indexOf(owner) + 1);
+                paint(x - nodeRadius, z - nodeRadius, x + nodeRadius, z + nodeRadius);
+                game.getMovementTracker().refreshZones();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Watch the territory the given player is in.
+     * @param player the player to watch
+     * @param listener the listener notified when the player enters or leaves a territory
+     * @return the watch, to cancel once the listener isn't needed anymore
+     */
+    public @NotNull Watch watch(@NotNull IGamePlayer player, @NotNull ZoneListener listener) {
+        Checks.notNull(player, "Player cannot be null");
+        Checks.notNull(listener, "Listener cannot be null");
+
+        final var tracker = game.getMovementTracker();
+        final var watch = new Watch();
+        watch.territory = tracker.getZone(player);
+        watch.subscription = tracker.listen(player, new MovementTracker.MovementListener() {
+            @Override
+            public void onZoneChange(@NotNull IGamePlayer player, @Nullable IGameTeam from, @Nullable IGameTeam to) {
+                watch.territory = to;
+                if (from != null)
+                    listener.onLeave(player, from);
+                if (to != null && !watch.isCancelled())
+                    listener.onEnter(player, to);
+            }
+        });
+
+        if (watch.territory != null)
+            listener.onEnter(player, watch.territory);
+        return watch;
+    }
+
+    private void paint(int fromX, int fromZ, int toX, int toZ) {
+        fromX = Math.max(fromX, minX);
+        fromZ = Math.max(fromZ, minZ);
+        toX = Math.min(toX, minX + width - 1);
+        toZ = Math.min(toZ, minZ + depth - 1);
+
+        final int baseRadiusSquared = baseRadius * baseRadius;
+        final int nodeRadiusSquared = nodeRadius * nodeRadius;
+        for (int z = fromZ; z <= toZ; z++) {
+            for (int x = fromX; x <= toX; x++) {
+                byte owner = NEUTRAL;
+
+                // captured nodes take precedence over the bases
+                for (Node node : nodes) {
+                    if (node.owner != NEUTRAL && distanceSquared(x, z, node.x, node.z) <= nodeRadiusSquared) {
+                        owner = node.owner;
+                        break;
+                    }
+                }
+                if (owner == NEUTRAL) {
+                    for (int i = 0; i < teams.length; i++) {
+                        if (distanceSquared(x, z, bases[i * 2], bases[i * 2 + 1]) <= baseRadiusSquared) {
+                            owner = (byte) (i + 1);
+                            break;
+                        }
+                    }
+                }
+
+                owners[(z - minZ) * width + (x - minX)] = owner;
+            }
+        }
+    }
+
+    private int indexOf(@NotNull IGameTeam team) {
+        for (int i = 0; i < teams.length; i++)
+            if (teams[i] == team)
+                return i;
+        throw new IllegalArgumentException("Team is not part of this game: " + team);
+    }
+
+    private static int distanceSquared(int x1, int z1, int x2, int z2) {
+        final int dx = x1 - x2, dz = z1 - z2;
+        return dx * dx + dz * dz;
+    }
+
+    /**
+     * Notified when a watched player enters or leaves a team's territory.
+     */
+    public interface ZoneListener {
+
+        void onEnter(@NotNull IGamePlayer player, @NotNull IGameTeam territory);
+
+        void onLeave(@NotNull IGamePlayer player, @NotNull IGameTeam territory);
+    }
+
+    public static final class Watch {
+
+        private MovementTracker.Subscription subscription;
+        private @Nullable IGameTeam territory;
+
+        private Watch() {
+        }
+
+        /**
+         * @return the territory the player was in at their last block change, or null if neutral
+         */
+        public @Nullable IGameTeam getTerritory() {
+            return territory;
+        }
+
+        public boolean isCancelled() {
+            return subscription.isCancelled();
+        }
+
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+
+    private static final class Node {
+
+        private final int x;
+        private final int z;
+        private byte owner = NEUTRAL;
+
+        private Node(int x, int z) {
+            this.x = x;
+            this.z = z;
+        }
+    }
+}
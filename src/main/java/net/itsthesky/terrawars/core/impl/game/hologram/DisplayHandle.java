@@ -0,0 +1,13 @@
+package net.itsthesky.terrawars.core.impl.game.hologram;
+
+/**
+ * A display created by the {@link HologramManager}, either a real entity or a {@link PacketDisplay}.
+ */
+@FunctionalInterface
+public interface DisplayHandle {
+
+    /**
+     * Remove the display from the world, or from the clients seeing it.
+     */
+    void remove();
+}
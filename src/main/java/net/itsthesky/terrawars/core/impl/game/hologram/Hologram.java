@@ -0,0 +1,147 @@
+package net.itsthesky.terrawars.core.impl.game.hologram;
+
+import net.itsthesky.terrawars.util.Checks;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A text hologram of a game, only sent to clients when its content actually changes.
+ * <br>
+ * The last rendered lines and component are cached, so setting the same content again
+ * costs neither a MiniMessage parse nor a metadata packet. Updates are also rate-limited:
+ * an update arriving less than {@link #getMinUpdateInterval()} ticks after the previous
+ * one is kept pending and flushed later by the {@link HologramManager}, only the most
+ * recent pending content being sent.
+ */
+public abstract class Hologram {
+
+    private final HologramManager manager;
+    private int minUpdateInterval = HologramManager.DEFAULT_MIN_UPDATE_INTERVAL;
+
+    private @Nullable List<TextColor> lastScheme;
+    private @Nullable List<String> lastLines;
+    private @Nullable Component lastSent;
+    private @Nullable Component pending;
+    private long lastSendTick = Long.MIN_VALUE / 2;
+    private boolean removed;
+
+    protected Hologram(@NotNull HologramManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Set the lines of the hologram, formatted with the given color scheme.
+     * Nothing is formatted nor sent if the lines didn't change.
+     * @param scheme the color scheme of the lines
+     * @param lines the MiniMessage lines
+     */
+    public void setLines(@NotNull List<TextColor> scheme, @NotNull List<String> lines) {
+        Checks.notNull(scheme, "Scheme cannot be null");
+        Checks.notNull(lines, "Lines cannot be null");
+
+        if (scheme.equals(lastScheme) && lines.equals(lastLines)) {
+            manager.countSkipped();
+            return;
+        }
+
+        this.lastScheme = scheme;
+        this.lastLines = List.copyOf(lines);
+
+        final var chatService = manager.getChatService();
+        setText(chatService.joinNewLine(lines.stream()
+                .map(line -> chatService.format(line, scheme))
+                .toList()));
+    }
+
+    /**
+     * Set the text of the hologram. Nothing is sent if the text didn't change.
+     * @param text the new text
+     */
+    public void setText(@NotNull Component text) {
+        Checks.notNull(text, "Text cannot be null");
+        if (removed)
+            return;
+
+        if (text.equals(pending == null ? lastSent : pending)) {
+            manager.countSkipped();
+            return;
+        }
+
+        // a pending update will be replaced (or dropped, if the text came back to what clients already have)
+        if (pending != null)
+            manager.countCoalesced();
+        if (text.equals(lastSent)) {
+            this.pending = null;
+            return;
+        }
+
+        if (manager.getCurrentTick() - lastSendTick >= minUpdateInterval) {
+            send(text);
+            return;
+        }
+
+        this.pending = text;
+        manager.markPending(this);
+    }
+
+    public int getMinUpdateInterval() {
+        return minUpdateInterval;
+    }
+
+    /**
+     * @param minUpdateInterval the minimum number of ticks between two sends of this hologram
+     */
+    public void setMinUpdateInterval(int minUpdateInterval) {
+        Checks.isTrue(minUpdateInterval >= 0, "Interval cannot be negative");
+        this.minUpdateInterval = minUpdateInterval;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public void remove() {
+        if (removed)
+            return;
+
+        this.removed = true;
+        this.pending = null;
+        despawn();
+    }
+
+    /**
+     * Send the pending text, if any, once the update interval has elapsed.
+     * @return whether the hologram is still pending
+     */
+    boolean flush(long tick) {
+        if (pending == null || removed)
+            return false;
+        if (tick - lastSendTick < minUpdateInterval)
+            return true;
+
+        send(pending);
+        return false;
+    }
+
+    private void send(@NotNull Component text) {
+        this.pending = null;
+        this.lastSent = text;
+        this.lastSendTick = manager.getCurrentTick();
+        manager.countSent();
+        render(text);
+    }
+
+    /**
+     * Actually display the given text to the clients.
+     */
+    protected abstract void render(@NotNull Component text);
+
+    /**
+     * Remove the hologram from the clients.
+     */
+    protected abstract void despawn();
+}
@@ -0,0 +1,203 @@
+package net.itsthesky.terrawars.core.impl.game.hologram;
+
+import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.core.impl.game.Game;
+import net.itsthesky.terrawars.core.impl.game.GameTicker;
+import net.itsthesky.terrawars.util.Checks;
+import net.minecraft.world.entity.EntityType;
+import org.bukkit.Location;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Creates the {@link Hologram holograms} and other displays of a game, flushes their
+ * rate-limited updates, and counts how many sends were saved.
+ * <br>
+ * When the game's <code>packet_holograms</code> option is enabled, displays are
+ * {@link PacketDisplay packet-only}: they are periodically shown to (or hidden from)
+ * the players of the game, depending on their distance.
+ */
+public class HologramManager {
+
+    public static final int DEFAULT_MIN_UPDATE_INTERVAL = 4;
+    public static final int VIEW_RANGE = 48;
+    private static final int VIEWERS_REFRESH_INTERVAL = 10;
+
+    private final Game game;
+    private final GameTicker ticker;
+    private final IChatService chatService;
+    private final boolean packetBased;
+    private final Set<Hologram> pending = new LinkedHashSet<>();
+    private final List<PacketDisplay<?>> packetDisplays = new ArrayList<>();
+    private GameTicker.TickHandle flushTask;
+    private GameTicker.TickHandle viewersTask;
+
+    private long sent;
+    private long skipped;
+    private long coalesced;
+
+    public HologramManager(@NotNull Game game) {
+        this.game = game;
+        this.ticker = game.getTicker();
+        this.chatService = game.getChatService();
+        this.packetBased = game.getConfig().isPacketHolograms();
+    }
+
+    /**
+     * Create a new hologram backed by a {@link TextDisplay}, centered and billboarded.
+     * @param location the location of the hologram
+     * @param setup additional setup of the display entity, can be null
+     * @return the created hologram
+     */
+    public @NotNull Hologram createTextDisplay(@NotNull Location location, @Nullable Consumer<TextDisplay> setup) {
+        Checks.notNull(location, "Location cannot be null");
+
+        final Consumer<TextDisplay> fullSetup = entity -> {
+            entity.setBillboard(Display.Billboard.CENTER);
+            if (setup != null)
+                setup.accept(entity);
+        };
+
+        if (!packetBased)
+            return new TextDisplayHologram(this, location.getWorld().spawn(location, TextDisplay.class, fullSetup));
+
+        final var display = new PacketDisplay<TextDisplay>(this, location,
+                level -> new net.minecraft.world.entity.Display.TextDisplay(EntityType.TEXT_DISPLAY, level));
+        fullSetup.accept(display.getBukkitEntity());
+        register(display);
+        return new PacketTextHologram(this, display);
+    }
+
+    /**
+     * Create a new {@link BlockDisplay}, that is not updated afterward.
+     * @param location the location of the display
+     * @param setup the setup of the display entity
+     * @return the handle used to remove the display
+     */
+    public @NotNull DisplayHandle createBlockDisplay(@NotNull Location location, @NotNull Consumer<BlockDisplay> setup) {
+        Checks.notNull(location, "Location cannot be null");
+        Checks.notNull(setup, "Setup cannot be null");
+
+        if (!packetBased)
+            return location.getWorld().spawn(location, BlockDisplay.class, setup)::remove;
+
+        final var display = new PacketDisplay<BlockDisplay>(this, location,
+                level -> new net.minecraft.world.entity.Display.BlockDisplay(EntityType.BLOCK_DISPLAY, level));
+        setup.accept(display.getBukkitEntity());
+        register(display);
+        return display;
+    }
+
+    public @NotNull Stats getStats() {
+        return new Stats(sent, skipped, coalesced);
+    }
+
+    public void shutdown() {
+        if (flushTask != null)
+            flushTask.cancel();
+        if (viewersTask != null)
+            viewersTask.cancel();
+        pending.clear();
+
+        for (PacketDisplay<?> display : List.copyOf(packetDisplays))
+            display.remove();
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    @NotNull IChatService getChatService() {
+        return chatService;
+    }
+
+    long getCurrentTick() {
+        return ticker.getCurrentTick();
+    }
+
+    void markPending(@NotNull Hologram hologram) {
+        if (flushTask == null)
+            flushTask = ticker.schedule("holograms", 1, this::flush);
+        pending.add(hologram);
+    }
+
+    void unregister(@NotNull PacketDisplay<?> display) {
+        packetDisplays.remove(display);
+    }
+
+    void countSent() {
+        sent++;
+    }
+
+    void countSkipped() {
+        skipped++;
+    }
+
+    void countCoalesced() {
+        coalesced++;
+    }
+
+    private void register(@NotNull PacketDisplay<?> display) {
+        if (viewersTask == null)
+            viewersTask = ticker.schedule("hologram_viewers", VIEWERS_REFRESH_INTERVAL, this::refreshViewers);
+
+        packetDisplays.add(display);
+        for (Player player : getViewerCandidates())
+            display.updateViewer(player, isInRange(player, display.getLocation()));
+    }
+
+    private void refreshViewers() {
+        if (packetDisplays.isEmpty())
+            return;
+
+        final var candidates = getViewerCandidates();
+        for (PacketDisplay<?> display : packetDisplays) {
+            display.pruneViewers();
+            for (Player player : candidates)
+                display.updateViewer(player, isInRange(player, display.getLocation()));
+        }
+    }
+
+    private @NotNull List<Player> getViewerCandidates() {
+        final var world = game.getWorld();
+        final var candidates = new ArrayList<Player>(world.getPlayerCount());
+        for (Player player : world.getPlayers())
+            if (game.findGamePlayer(player) != null)
+                candidates.add(player);
+        return candidates;
+    }
+
+    private static boolean isInRange(@NotNull Player player, @NotNull Location location) {
+        final var playerLocation = player.getLocation();
+        return playerLocation.getWorld() == location.getWorld()
+                && playerLocation.distanceSquared(location) <= VIEW_RANGE * VIEW_RANGE;
+    }
+
+    private void flush() {
+        if (pending.isEmpty())
+            return;
+
+        final long tick = ticker.getCurrentTick();
+        pending.removeIf(hologram -> !hologram.flush(tick));
+    }
+
+    /**
+     * @param sent the number of updates actually sent to the clients
+     * @param skipped the number of updates skipped because the content didn't change
+     * @param coalesced the number of updates replaced by a more recent one before being sent
+     */
+    public record Stats(long sent, long skipped, long coalesced) {
+
+        public long saved() {
+            return skipped + coalesced;
+        }
+    }
+}
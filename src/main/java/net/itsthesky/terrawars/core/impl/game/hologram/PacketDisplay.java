@@ -0,0 +1,122 @@
+package net.itsthesky.terrawars.core.impl.game.hologram;
+
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.world.entity.Display;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.craftbukkit.CraftWorld;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A display entity that only exists client-side.
+ * <br>
+ * The NMS entity is created but never added to the world: it doesn't tick nor persist
+ * into the chunks, and is only used to build the spawn and metadata packets sent to the
+ * current viewers. Its Bukkit wrapper ({@link #getBukkitEntity()}) can be configured as
+ * a regular display entity, changes being sent with {@link #sendChanges()}.
+ * @param <T> the Bukkit type of the display
+ */
+public class PacketDisplay<T extends org.bukkit.entity.Display> implements DisplayHandle {
+
+    private final HologramManager manager;
+    private final Display entity;
+    private final T bukkitEntity;
+    private final Location location;
+    private final Map<UUID, Player> viewers = new HashMap<>();
+    private boolean removed;
+
+    @SuppressWarnings("unchecked")
+    PacketDisplay(@NotNull HologramManager manager, @NotNull Location location,
+                  @NotNull Function<Level, Display> factory) {
+        this.manager = manager;
+        this.location = location.clone();
+        this.entity = factory.apply(((CraftWorld) location.getWorld()).getHandle());
+        this.entity.setPos(location.getX(), location.getY(), location.getZ());
+        this.bukkitEntity = (T) entity.getBukkitEntity();
+    }
+
+    public @NotNull T getBukkitEntity() {
+        return bukkitEntity;
+    }
+
+    public @NotNull Location getLocation() {
+        return location;
+    }
+
+    /**
+     * Send the metadata changed since the last call to every viewer.
+     */
+    public void sendChanges() {
+        final var changes = entity.getEntityData().packDirty();
+        if (changes == null || viewers.isEmpty())
+            return;
+
+        final var packet = new ClientboundSetEntityDataPacket(entity.getId(), changes);
+        for (Player viewer : viewers.values())
+            send(viewer, packet);
+    }
+
+    @Override
+    public void remove() {
+        if (removed)
+            return;
+
+        this.removed = true;
+        final var packet = new ClientboundRemoveEntitiesPacket(entity.getId());
+        for (Player viewer : viewers.values())
+            send(viewer, packet);
+        viewers.clear();
+        manager.unregister(this);
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    /**
+     * Show or hide the display to the given player, depending on whether it should see it.
+     * @param player the player
+     * @param visible whether the player should see the display
+     */
+    void updateViewer(@NotNull Player player, boolean visible) {
+        if (removed)
+            return;
+
+        if (visible && viewers.putIfAbsent(player.getUniqueId(), player) == null) {
+            send(player, new ClientboundAddEntityPacket(entity.getId(), entity.getUUID(),
+                    location.getX(), location.getY(), location.getZ(),
+                    location.getPitch(), location.getYaw(),
+                    entity.getType(), 0, Vec3.ZERO, location.getYaw()));
+
+            final var values = entity.getEntityData().getNonDefaultValues();
+            if (values != null)
+                send(player, new ClientboundSetEntityDataPacket(entity.getId(), values));
+        } else if (!visible && viewers.remove(player.getUniqueId()) != null) {
+            send(player, new ClientboundRemoveEntitiesPacket(entity.getId()));
+        }
+    }
+
+    /**
+     * Forget the viewers that disconnected since they were shown the display (their client
+     * already dropped the entity), including the ones that reconnected in the meantime.
+     */
+    void pruneViewers() {
+        viewers.entrySet().removeIf(entry -> Bukkit.getPlayer(entry.getKey()) != entry.getValue());
+    }
+
+    private static void send(@NotNull Player player, @NotNull Packet<?> packet) {
+        ((CraftPlayer) player).getHandle().connection.send(packet);
+    }
+}
@@ -0,0 +1,30 @@
+package net.itsthesky.terrawars.core.impl.game.hologram;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.TextDisplay;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link Hologram} backed by a {@link PacketDisplay}: there is no server-side entity,
+ * the text display only exists for the players of the game within view range.
+ */
+public class PacketTextHologram extends Hologram {
+
+    private final PacketDisplay<TextDisplay> display;
+
+    PacketTextHologram(@NotNull HologramManager manager, @NotNull PacketDisplay<TextDisplay> display) {
+        super(manager);
+        this.display = display;
+    }
+
+    @Override
+    protected void render(@NotNull Component text) {
+        display.getBukkitEntity().text(text);
+        display.sendChanges();
+    }
+
+    @Override
+    protected void despawn() {
+        display.remove();
+    }
+}
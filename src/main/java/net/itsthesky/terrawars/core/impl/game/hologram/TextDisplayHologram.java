@@ -0,0 +1,33 @@
+package net.itsthesky.terrawars.core.impl.game.hologram;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.TextDisplay;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link Hologram} backed by a server-side {@link TextDisplay} entity.
+ */
+public class TextDisplayHologram extends Hologram {
+
+    private final TextDisplay display;
+
+    TextDisplayHologram(@NotNull HologramManager manager, @NotNull TextDisplay display) {
+        super(manager);
+        this.display = display;
+    }
+
+    public @NotNull TextDisplay getDisplay() {
+        return display;
+    }
+
+    @Override
+    protected void render(@NotNull Component text) {
+        if (display.isValid())
+            display.text(text);
+    }
+
+    @Override
+    protected void despawn() {
+        display.remove();
+    }
+}
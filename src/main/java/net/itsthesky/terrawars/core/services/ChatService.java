@@ -14,10 +14,12 @@ import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.title.Title;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 @Service
@@ -25,6 +27,18 @@ public class ChatService implements IChatService {
 
     private final MiniMessage MINI_MESSAGE;
     private static final Pattern OVERRIDE_SCHEME_PATTERN = Pattern.compile("\\[(\\w+)]");
+    private static final int MAX_CACHED_MESSAGES = 2048;
+
+    // Components are immutable, so the same instance can be returned for every identical message
+    private final Map<TemplateKey, Component> formatCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TemplateKey, Component> eldest) {
+            return size() > MAX_CACHED_MESSAGES;
+        }
+    };
+    private final Map<List<TextColor>, TagResolver> schemeResolvers = new ConcurrentHashMap<>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
     private ChatService() {
         this.MINI_MESSAGE = MiniMessage.builder()
@@ -65,28 +79,64 @@ public class ChatService implements IChatService {
         Checks.notNull(message, "Message cannot be null");
         Checks.notNull(scheme, "Scheme cannot be null");
 
+        // Extra resolvers may be dynamic (components, players, ...), so only plain messages are cached
+        if (tagResolvers.length != 0)
+            return parse(message, scheme, tagResolvers);
+
+        final var key = new TemplateKey(message, scheme);
+        synchronized (formatCache) {
+            final var cached = formatCache.get(key);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        cacheMisses.incrementAndGet();
+        final var component = parse(message, scheme, tagResolvers);
+        synchronized (formatCache) {
+            formatCache.put(key, component);
+        }
+        return component;
+    }
+
+    private @NotNull Component parse(@NotNull String message, @NotNull List<TextColor> scheme, @NotNull TagResolver... tagResolvers) {
         // Check if the message contains any color overrides
-        final var matcher = OVERRIDE_SCHEME_PATTERN.matcher(message);
-        if (matcher.find()) {
-            // Extract the color name from the message
-            final var colorName = matcher.group(1);
-            final var color = Colors.getSchemeByName(colorName);
-            if (color == null)
-                throw new IllegalArgumentException("Invalid color name: " + colorName);
-
-            message = message.replace(matcher.group(0), "");
-            scheme = color;
+        if (message.indexOf('[') != -1) {
+            final var matcher = OVERRIDE_SCHEME_PATTERN.matcher(message);
+            if (matcher.find()) {
+                // Extract the color name from the message
+                final var colorName = matcher.group(1);
+                final var color = Colors.getSchemeByName(colorName);
+                if (color == null)
+                    throw new IllegalArgumentException("Invalid color name: " + colorName);
+
+                message = message.replace(matcher.group(0), "");
+                scheme = color;
+            }
         }
 
-        final var placeholders = List.of(
+        final var schemeResolver = schemeResolvers.computeIfAbsent(scheme, ChatService::createSchemeResolver);
+        final var resolver = tagResolvers.length == 0
+                ? schemeResolver
+                : TagResolver.builder().resolver(schemeResolver).resolvers(tagResolvers).build();
+
+        return MINI_MESSAGE.deserialize("<!i>" + message, resolver);
+    }
+
+    private static @NotNull TagResolver createSchemeResolver(@NotNull List<TextColor> scheme) {
+        return TagResolver.resolver(
                 Placeholder.styling("text", scheme.get(Colors.SHADE_200)),
                 Placeholder.styling("base", scheme.get(Colors.SHADE_500)),
                 Placeholder.styling("accent", scheme.get(Colors.SHADE_700))
         );
-        final var placeholdersWithTagResolvers = new ArrayList<TagResolver>(placeholders);
-        placeholdersWithTagResolvers.addAll(Arrays.asList(tagResolvers));
+    }
 
-        return MINI_MESSAGE.deserialize("<!i>" + message, TagResolver.resolver(placeholdersWithTagResolvers));
+    @Override
+    public @NotNull FormatCacheStats getFormatCacheStats() {
+        synchronized (formatCache) {
+            return new FormatCacheStats(cacheHits.get(), cacheMisses.get(), formatCache.size());
+        }
     }
 
     @Override
@@ -95,19 +145,6 @@ public class ChatService implements IChatService {
         Checks.isTrue(builder.isValid(), "Builder is not valid");
         Checks.isTrue(builder.getSeverity() == null || builder.getSource() == null, "Builder cannot have both source and severity set");
 
-        final var placeholders = new ArrayList<TagResolver>();
-
-        if (builder.getSource() != null) {
-            placeholders.add(Placeholder.component("source", builder.getSource().displayName().style(Style.style()
-                    .color(Colors.SLATE_300)
-                    .hoverEvent(builder.getSource().asHoverEvent())
-                    .build())));
-        }
-
-        placeholders.add(Placeholder.styling("text", builder.getScheme().get(Colors.SHADE_200)));
-        placeholders.add(Placeholder.styling("base", builder.getScheme().get(Colors.SHADE_500)));
-        placeholders.add(Placeholder.styling("accent", builder.getScheme().get(Colors.SHADE_700)));
-
         String message = builder.getArgs().length != 0 ? String.format(builder.getMessage(), builder.getArgs()) : builder.getMessage();
         if (builder.getSource() != null) {
             message = "<accent><source> <b>&7»</b> <text>" + message;
@@ -115,7 +152,16 @@ public class ChatService implements IChatService {
             message = "<accent><b>[</b><base>" + builder.getSeverity().getIcon() + "<accent><b>]</b> <text>" + message;
         }
 
-        final var component = format(message, TagResolver.resolver(placeholders));
+        final Component component;
+        if (builder.getSource() != null) {
+            // The source is a dynamic component, the message cannot be cached
+            component = format(message, builder.getScheme(), Placeholder.component("source", builder.getSource().displayName().style(Style.style()
+                    .color(Colors.SLATE_300)
+                    .hoverEvent(builder.getSource().asHoverEvent())
+                    .build())));
+        } else {
+            component = format(message, builder.getScheme());
+        }
         builder.getAudience().sendMessage(component);
     }
 
@@ -124,14 +170,8 @@ public class ChatService implements IChatService {
         Checks.notNull(builder, "Builder cannot be null");
         Checks.isTrue(builder.isValid(), "Builder is not valid");
 
-        final var placeholders = List.of(
-                Placeholder.styling("text", builder.getScheme().get(Colors.SHADE_200)),
-                Placeholder.styling("base", builder.getScheme().get(Colors.SHADE_500)),
-                Placeholder.styling("accent", builder.getScheme().get(Colors.SHADE_700))
-        );
-
-        final var title = format("<text>" + builder.getTitle(), TagResolver.resolver(placeholders));
-        final var subtitle = format("<text>" + builder.getSubtitle(), TagResolver.resolver(placeholders));
+        final var title = format("<text>" + builder.getTitle(), builder.getScheme());
+        final var subtitle = format("<text>" + builder.getSubtitle(), builder.getScheme());
 
         builder.getAudience().showTitle(Title.title(title, subtitle, Title.Times.times(
                 builder.getFadeIn(),
@@ -145,4 +185,6 @@ public class ChatService implements IChatService {
         Checks.notNull(message, "Message cannot be null");
         return MINI_MESSAGE.serialize(message);
     }
+
+    private record TemplateKey(@NotNull String message, @NotNull List<TextColor> scheme) {}
 }
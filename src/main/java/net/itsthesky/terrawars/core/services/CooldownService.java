@@ -0,0 +1,236 @@
+package net.itsthesky.terrawars.core.services;
+
+import net.itsthesky.terrawars.api.model.ability.IAbility;
+import net.itsthesky.terrawars.api.model.game.IGamePlayer;
+import net.itsthesky.terrawars.api.services.ICooldownService;
+import net.itsthesky.terrawars.api.services.base.IService;
+import net.itsthesky.terrawars.api.services.base.Service;
+import net.itsthesky.terrawars.util.BukkitUtils;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class CooldownService implements ICooldownService, IService {
+
+    private static final int TICKS_PER_SECOND = 20;
+    // entries are never scheduled more than a second ahead, so a wheel revolution is enough
+    private static final int WHEEL_SIZE = 32;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    // only used from the server thread
+    private final Map<UUID, Integer> playerIndexes = new HashMap<>();
+    private final Map<String, Integer> abilityIndexes = new HashMap<>();
+    private int[][] expiries = new int[0][]; // [player][ability] -> expiry tick, 0 if none
+    private int[][] versions = new int[0][]; // [player][ability] -> bumped on each start/cancel
+    private final Deque<Integer> freePlayerIndexes = new ArrayDeque<>();
+
+    private final List<List<Entry>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private BukkitTask task;
+    private int lastTick;
+
+    private CooldownService() {
+        for (int i = 0; i < WHEEL_SIZE; i++)
+            wheel.add(new ArrayList<>());
+    }
+
+    @Override
+    public void init() {
+        this.lastTick = Bukkit.getCurrentTick();
+        this.task = BukkitUtils.runTaskTimer(this::tick, 1, 1);
+    }
+
+    @Override
+    public void destroy() {
+        if (task != null)
+            task.cancel();
+    }
+
+    @Override
+    public void start(@NotNull IGamePlayer player, @NotNull IAbility ability, int durationTicks,
+                      @NotNull CooldownListener listener) {
+        Checks.notNull(player, "Player cannot be null");
+        Checks.notNull(ability, "Ability cannot be null");
+        Checks.notNull(listener, "Listener cannot be null");
+        Checks.isTrue(durationTicks > 0, "Duration must be positive");
+
+        final int playerIndex = playerIndex(player, true);
+        final int abilityIndex = abilityIndex(ability, true);
+        ensureCapacity(playerIndex, abilityIndex);
+
+        final int now = Bukkit.getCurrentTick();
+        final int expiry = now + durationTicks;
+        expiries[playerIndex][abilityIndex] = expiry;
+        final int version = ++versions[playerIndex][abilityIndex];
+
+        schedule(new Entry(player, listener, playerIndex, abilityIndex, version, expiry), nextFireTick(now, expiry));
+    }
+
+    @Override
+    public void cancel(@NotNull IGamePlayer player, @NotNull IAbility ability) {
+        final int playerIndex = playerIndex(player, false);
+        final int abilityIndex = abilityIndex(ability, false);
+        if (!isStored(playerIndex, abilityIndex))
+            return;
+
+        expiries[playerIndex][abilityIndex] = 0;
+        versions[playerIndex][abilityIndex]++;
+    }
+
+    @Override
+    public void release(@NotNull IGamePlayer player) {
+        Checks.notNull(player, "Player cannot be null");
+        final var index = playerIndexes.remove(player.getOfflinePlayer().getUniqueId());
+        if (index == null)
+            return;
+
+        // versions are kept, so the entries still in the wheel never match the next player
+        Arrays.fill(expiries[index], 0);
+        for (int i = 0; i < versions[index].length; i++)
+            versions[index][i]++;
+        freePlayerIndexes.push(index);
+    }
+
+    @Override
+    public int getRemainingTicks(@NotNull IGamePlayer player, @NotNull IAbility ability) {
+        final int playerIndex = playerIndex(player, false);
+        final int abilityIndex = abilityIndex(ability, false);
+        if (!isStored(playerIndex, abilityIndex))
+            return 0;
+
+        final int expiry = expiries[playerIndex][abilityIndex];
+        return expiry == 0 ? 0 : Math.max(0, expiry - Bukkit.getCurrentTick());
+    }
+
+    private void tick() {
+        final int now = Bukkit.getCurrentTick();
+        while (lastTick < now)
+            fireSlot(++lastTick);
+    }
+
+    private void fireSlot(int tick) {
+        final var slot = wheel.get(tick & WHEEL_MASK);
+        if (slot.isEmpty())
+            return;
+
+        final var due = new ArrayList<Entry>();
+        for (Iterator<Entry> iterator = slot.iterator(); iterator.hasNext(); ) {
+            final var entry = iterator.next();
+            if (!entry.isCurrent()) {
+                iterator.remove();
+            } else if (entry.fireTick <= tick) {
+                iterator.remove();
+                due.add(entry);
+            }
+        }
+
+        for (Entry entry : due) {
+            // a previous callback may have restarted or cancelled this cooldown
+            if (!entry.isCurrent())
+                continue;
+
+            if (tick >= entry.expiry) {
+                expiries[entry.playerIndex][entry.abilityIndex] = 0;
+                entry.listener.onExpire(entry.player);
+            } else {
+                entry.listener.onSecondChange(entry.player, (entry.expiry - tick) / TICKS_PER_SECOND);
+                schedule(entry, nextFireTick(tick, entry.expiry));
+            }
+        }
+    }
+
+    private void schedule(@NotNull Entry entry, int fireTick) {
+        entry.fireTick = fireTick;
+        wheel.get(fireTick & WHEEL_MASK).add(entry);
+    }
+
+    /**
+     * @return the next tick at which the displayed seconds change, or the expiry tick
+     */
+    private static int nextFireTick(int now, int expiry) {
+        final int displayed = (expiry - now) / TICKS_PER_SECOND;
+        if (displayed == 0)
+            return expiry;
+
+        return expiry - (displayed * TICKS_PER_SECOND - 1);
+    }
+
+    private int playerIndex(@NotNull IGamePlayer player, boolean create) {
+        final var uuid = player.getOfflinePlayer().getUniqueId();
+        final var index = playerIndexes.get(uuid);
+        if (index != null || !create)
+            return index == null ? -1 : index;
+
+        final var free = freePlayerIndexes.poll();
+        if (free != null) {
+            playerIndexes.put(uuid, free);
+            return free;
+        }
+
+        final int created = expiries.length;
+        playerIndexes.put(uuid, created);
+        expiries = Arrays.copyOf(expiries, created + 1);
+        versions = Arrays.copyOf(versions, created + 1);
+        expiries[created] = new int[abilityIndexes.size()];
+        versions[created] = new int[abilityIndexes.size()];
+        return created;
+    }
+
+    private int abilityIndex(@NotNull IAbility ability, boolean create) {
+        final var index = abilityIndexes.get(ability.getId());
+        if (index != null || !create)
+            return index == null ? -1 : index;
+
+        final int created = abilityIndexes.size();
+        abilityIndexes.put(ability.getId(), created);
+        return created;
+    }
+
+    private void ensureCapacity(int playerIndex, int abilityIndex) {
+        if (expiries[playerIndex].length > abilityIndex)
+            return;
+
+        expiries[playerIndex] = Arrays.copyOf(expiries[playerIndex], abilityIndexes.size());
+        versions[playerIndex] = Arrays.copyOf(versions[playerIndex], abilityIndexes.size());
+    }
+
+    private boolean isStored(int playerIndex, int abilityIndex) {
+        return playerIndex >= 0 && abilityIndex >= 0 && expiries[playerIndex].length > abilityIndex;
+    }
+
+    private final class Entry {
+
+        private final IGamePlayer player;
+        private final CooldownListener listener;
+        private final int playerIndex;
+        private final int abilityIndex;
+        private final int version;
+        private final int expiry;
+        private int fireTick;
+
+        private Entry(@NotNull IGamePlayer player, @NotNull CooldownListener listener,
+                      int playerIndex, int abilityIndex, int version, int expiry) {
+            this.player = player;
+            this.listener = listener;
+            this.playerIndex = playerIndex;
+            this.abilityIndex = abilityIndex;
+            this.version = version;
+            this.expiry = expiry;
+        }
+
+        private boolean isCurrent() {
+            return versions[playerIndex][abilityIndex] == version;
+        }
+    }
+}
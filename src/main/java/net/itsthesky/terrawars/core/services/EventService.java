@@ -0,0 +1,314 @@
+package net.itsthesky.terrawars.core.services;
+
+import net.itsthesky.terrawars.TerraWars;
+import net.itsthesky.terrawars.api.model.game.IGame;
+import net.itsthesky.terrawars.api.services.IEventService;
+import net.itsthesky.terrawars.api.services.IGameService;
+import net.itsthesky.terrawars.api.services.base.IService;
+import net.itsthesky.terrawars.api.services.base.Inject;
+import net.itsthesky.terrawars.api.services.base.Service;
+import net.itsthesky.terrawars.core.impl.game.Game;
+import net.itsthesky.terrawars.util.Checks;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.*;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.world.WorldEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+@Service
+public class EventService implements IEventService, IService {
+
+    private static final Map<Class<?>, List<HandlerMethod>> HANDLER_METHODS = new ConcurrentHashMap<>();
+
+    private final TerraWars plugin;
+    private final Listener router = new Listener() {};
+
+    /**
+     * For each (event type, priority) pair, the subscribed handlers indexed by their key.
+     * Keys are either entity/player UUIDs or game UUIDs.
+     */
+    private final Map<Binding, Map<UUID, List<Subscription>>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<Listener, List<Subscription>> listenerSubscriptions = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> worldGames = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Listener>> gameListeners = new ConcurrentHashMap<>();
+    private final Set<Binding> registeredBindings = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    private IGameService gameService;
+
+    public EventService(TerraWars plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void subscribe(@NotNull UUID entityId, @NotNull Listener listener) {
+        Checks.notNull(entityId, "Entity ID cannot be null");
+        Checks.notNull(listener, "Listener cannot be null");
+
+        register(entityId, listener);
+    }
+
+    @Override
+    public void subscribe(@NotNull IGame game, @NotNull Listener listener) {
+        Checks.notNull(game, "Game cannot be null");
+        Checks.notNull(listener, "Listener cannot be null");
+
+        final var world = game.getConfig().getWorld();
+        if (world != null)
+            worldGames.computeIfAbsent(world.getUID(), k -> ConcurrentHashMap.newKeySet()).add(game.getId());
+        gameListeners.computeIfAbsent(game.getId(), k -> ConcurrentHashMap.newKeySet()).add(listener);
+
+        register(game.getId(), listener);
+    }
+
+    @Override
+    public void unsubscribe(@NotNull Listener listener) {
+        Checks.notNull(listener, "Listener cannot be null");
+
+        final var subs = listenerSubscriptions.remove(listener);
+        if (subs == null)
+            return;
+
+        for (final var sub : subs) {
+            final var byKey = subscriptions.get(sub.binding());
+            if (byKey == null)
+                continue;
+
+            byKey.computeIfPresent(sub.key(), (k, list) -> {
+                list.remove(sub);
+                return list.isEmpty() ? null : list;
+            });
+        }
+
+        for (final var sub : subs) {
+            final var listeners = gameListeners.get(sub.key());
+            if (listeners == null || !listeners.remove(listener) || !listeners.isEmpty())
+                continue;
+
+            // last listener of that game is gone, it doesn't need to receive world events anymore
+            gameListeners.remove(sub.key());
+            worldGames.values().forEach(games -> games.remove(sub.key()));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        HandlerList.unregisterAll(router);
+        subscriptions.clear();
+        listenerSubscriptions.clear();
+        worldGames.clear();
+        gameListeners.clear();
+        registeredBindings.clear();
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    private void register(@NotNull UUID key, @NotNull Listener listener) {
+        final var methods = HANDLER_METHODS.computeIfAbsent(listener.getClass(), EventService::findHandlerMethods);
+        if (methods.isEmpty()) {
+            plugin.getLogger().warning("Listener " + listener.getClass().getName() + " has no @EventHandler method to subscribe!");
+            return;
+        }
+
+        final var subs = listenerSubscriptions.computeIfAbsent(listener, k -> new CopyOnWriteArrayList<>());
+        for (final var method : methods) {
+            final var sub = new Subscription(key, listener, method, method.binding());
+            subscriptions.computeIfAbsent(method.binding(), k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key, k -> new CopyOnWriteArrayList<>())
+                    .add(sub);
+            subs.add(sub);
+
+            if (registeredBindings.add(method.binding()))
+                Bukkit.getPluginManager().registerEvent(method.binding().type(), router, method.binding().priority(),
+                        (ignored, event) -> dispatch(method.binding(), event), plugin, false);
+        }
+    }
+
+    private void dispatch(@NotNull Binding binding, @NotNull Event event) {
+        if (!binding.type().isInstance(event))
+            return;
+
+        final var byKey = subscriptions.get(binding);
+        if (byKey == null || byKey.isEmpty())
+            return;
+
+        final var keys = new ArrayList<UUID>(4);
+        collectEntityKeys(event, keys);
+        final var game = collectGameKeys(event, keys);
+        final var metrics = game instanceof Game gameImpl ? gameImpl.getMetrics() : null;
+
+        for (final var key : keys) {
+            final var subs = byKey.get(key);
+            if (subs == null)
+                continue;
+
+            for (final var sub : subs) {
+                if (sub.method().ignoreCancelled() && event instanceof Cancellable cancellable && cancellable.isCancelled())
+                    continue;
+
+                final long start = System.nanoTime();
+                try {
+                    sub.method().method().invoke(sub.listener(), event);
+                } catch (InvocationTargetException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Could not pass event " + event.getEventName()
+                            + " to " + sub.listener().getClass().getName(), e.getCause());
+                } catch (IllegalAccessException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Cannot access handler of " + sub.listener().getClass().getName(), e);
+                }
+
+                if (metrics != null)
+                    metrics.record(sub.method().section(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static void collectEntityKeys(@NotNull Event event, @NotNull List<UUID> keys) {
+        if (event instanceof PlayerEvent playerEvent)
+            addKey(keys, playerEvent.getPlayer());
+        if (event instanceof EntityEvent entityEvent)
+            addKey(keys, entityEvent.getEntity());
+        if (event instanceof BlockPlaceEvent placeEvent)
+            addKey(keys, placeEvent.getPlayer());
+        if (event instanceof BlockBreakEvent breakEvent)
+            addKey(keys, breakEvent.getPlayer());
+        if (event instanceof InventoryEvent inventoryEvent)
+            addKey(keys, inventoryEvent.getView().getPlayer());
+        if (event instanceof PlayerInteractEntityEvent interactEvent)
+            addKey(keys, interactEvent.getRightClicked());
+        if (event instanceof EntityDamageByEntityEvent damageEvent)
+            addKey(keys, damageEvent.getDamager());
+        if (event instanceof EntityPickupItemEvent pickupEvent)
+            addKey(keys, pickupEvent.getItem());
+        if (event instanceof InventoryPickupItemEvent pickupEvent)
+            addKey(keys, pickupEvent.getItem());
+    }
+
+    /**
+     * Add the keys of the games concerned by the event.
+     * @return the first game concerned by the event, used to record the handler timings
+     */
+    private @Nullable IGame collectGameKeys(@NotNull Event event, @NotNull List<UUID> keys) {
+        if (gameService == null)
+            return null;
+
+        IGame playerGame = null;
+        for (int i = 0, size = keys.size(); i < size; i++) {
+            final var game = gameService.getPlayerGame(keys.get(i));
+            if (game != null) {
+                if (playerGame == null)
+                    playerGame = game;
+                if (!keys.contains(game.getId()))
+                    keys.add(game.getId());
+            }
+        }
+
+        if (playerGame != null)
+            return playerGame;
+
+        final var world = getEventWorld(event);
+        if (world == null)
+            return null;
+
+        final var games = worldGames.get(world.getUID());
+        if (games == null)
+            return null;
+
+        UUID firstGameId = null;
+        for (final var gameId : games) {
+            if (firstGameId == null)
+                firstGameId = gameId;
+            if (!keys.contains(gameId))
+                keys.add(gameId);
+        }
+        return firstGameId == null ? null : gameService.getGame(firstGameId);
+    }
+
+    private static @Nullable World getEventWorld(@NotNull Event event) {
+        if (event instanceof PlayerEvent playerEvent)
+            return playerEvent.getPlayer().getWorld();
+        if (event instanceof EntityEvent entityEvent)
+            return entityEvent.getEntity().getWorld();
+        if (event instanceof BlockEvent blockEvent)
+            return blockEvent.getBlock().getWorld();
+        if (event instanceof WorldEvent worldEvent)
+            return worldEvent.getWorld();
+        if (event instanceof InventoryEvent inventoryEvent)
+            return inventoryEvent.getView().getPlayer().getWorld();
+        return null;
+    }
+
+    private static void addKey(@NotNull List<UUID> keys, @Nullable Entity entity) {
+        if (entity == null)
+            return;
+
+        if (!keys.contains(entity.getUniqueId()))
+            keys.add(entity.getUniqueId());
+
+        // projectiles (fireballs, arrows, ...) are also routed to their shooter
+        if (entity instanceof Projectile projectile && projectile.getShooter() instanceof Entity shooter)
+            addKey(keys, shooter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NotNull List<HandlerMethod> findHandlerMethods(@NotNull Class<?> listenerClass) {
+        final var methods = new ArrayList<HandlerMethod>();
+        final var seen = new HashSet<String>();
+
+        for (var clazz = listenerClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (final var method : clazz.getDeclaredMethods()) {
+                final var annotation = method.getAnnotation(EventHandler.class);
+                if (annotation == null || method.isBridge() || method.isSynthetic())
+                    continue;
+                if (method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0]))
+                    continue;
+                if (!seen.add(method.getName() + "#" + method.getParameterTypes()[0].getName()))
+                    continue;
+
+                method.setAccessible(true);
+                final var type = (Class<? extends Event>) method.getParameterTypes()[0];
+                methods.add(new HandlerMethod(method, new Binding(type, annotation.priority()), annotation.ignoreCancelled(),
+                        "event:" + sectionName(listenerClass) + "#" + method.getName()));
+            }
+        }
+
+        return List.copyOf(methods);
+    }
+
+    private static @NotNull String sectionName(@NotNull Class<?> listenerClass) {
+        final var simpleName = listenerClass.getSimpleName();
+        if (!simpleName.isEmpty())
+            return simpleName;
+
+        // anonymous listener, e.g. "GameNexus$1"
+        final var name = listenerClass.getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private record Binding(@NotNull Class<? extends Event> type, @NotNull EventPriority priority) {}
+
+    private record HandlerMethod(@NotNull Method method, @NotNull Binding binding, boolean ignoreCancelled,
+                                 @NotNull String section) {}
+
+    private record Subscription(@NotNull UUID key, @NotNull Listener listener,
+                                @NotNull HandlerMethod method, @NotNull Binding binding) {}
+}
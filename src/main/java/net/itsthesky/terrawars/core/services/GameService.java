@@ -28,6 +28,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,6 +50,7 @@ public class GameService implements IGameService, IService {
     private ISchemService schemService;
 
     private final Map<UUID, IGame> games = new HashMap<>();
+    private final Map<UUID, IGame> playerGames = new ConcurrentHashMap<>();
 
     public GameService() {
         BukkitUtils.registerListener(new Listener() {
@@ -102,10 +104,23 @@ public class GameService implements IGameService, IService {
     public @Nullable IGame getPlayerGame(@NotNull UUID playerId) {
         Checks.notNull(playerId, "Player ID cannot be null");
 
-        return games.values().stream()
-                .filter(game -> game.findGamePlayer(playerId) != null)
-                .findFirst()
-                .orElse(null);
+        return playerGames.get(playerId);
+    }
+
+    @Override
+    public void trackPlayer(@NotNull UUID playerId, @NotNull IGame game) {
+        Checks.notNull(playerId, "Player ID cannot be null");
+        Checks.notNull(game, "Game cannot be null");
+
+        playerGames.put(playerId, game);
+    }
+
+    @Override
+    public void untrackPlayer(@NotNull UUID playerId, @NotNull IGame game) {
+        Checks.notNull(playerId, "Player ID cannot be null");
+        Checks.notNull(game, "Game cannot be null");
+
+        playerGames.remove(playerId, game);
     }
 
     @Override
@@ -198,6 +213,47 @@ public class GameService implements IGameService, IService {
                             final var gui = new ShopKeeperGui(game, gamePlayer);
                             gui.open(player);
                         }))
+                .withSubcommand(new CommandAPICommand("metrics")
+                        .withOptionalArguments(new StringArgument("game_id")
+                                .replaceSuggestions(ArgumentSuggestions.stringCollection(s ->
+                                        games.keySet().stream().map(UUID::toString).collect(Collectors.toList()))))
+                        .executesPlayer((player, args) -> {
+                            final var rawGameId = (String) args.get("game_id");
+                            final var game = rawGameId == null
+                                    ? getPlayerGame(player.getUniqueId())
+                                    : games.get(UUID.fromString(rawGameId));
+                            if (game == null) {
+                                chatService.sendMessage(player, IChatService.MessageSeverity.ERROR, rawGameId == null
+                                        ? "You are not in a game!" : "Game with ID <base>" + rawGameId + "<text> not found!");
+                                return;
+                            }
+
+                            final var snapshot = ((Game) game).getMetrics().snapshot();
+                            final var path = "metrics" + File.separator + game.getId() + ".json";
+                            configService.save(snapshot, path);
+
+                            chatService.sendMessage(player, IChatService.MessageSeverity.NEUTRAL, "Metrics of the last <accent>"
+                                    + String.format("%.0f", snapshot.windowSeconds()) + "s<text> (p50 / p99 / max in µs, calls/s):");
+                            snapshot.sections().stream().limit(10).forEach(section ->
+                                    chatService.sendMessage(player, IChatService.MessageSeverity.NEUTRAL, String.format(
+                                            "<accent>- <base>%s<text>: %.1f / %.1f / %.1f, <accent>%.1f<text>/s",
+                                            section.name(), section.p50Micros(), section.p99Micros(),
+                                            section.maxMicros(), section.callsPerSecond())));
+                            final var cacheStats = chatService.getFormatCacheStats();
+                            chatService.sendMessage(player, IChatService.MessageSeverity.NEUTRAL, String.format(
+                                    "Chat format cache: <accent>%.1f%%<text> hits (%d hits, %d misses, %d cached)",
+                                    cacheStats.hitRatio() * 100, cacheStats.hits(), cacheStats.misses(), cacheStats.size()));
+                            final var hologramStats = ((Game) game).getHologramManager().getStats();
+                            chatService.sendMessage(player, IChatService.MessageSeverity.NEUTRAL, String.format(
+                                    "Holograms: <accent>%d<text> updates sent, <accent>%d<text> saved (%d unchanged, %d rate-limited)",
+                                    hologramStats.sent(), hologramStats.saved(), hologramStats.skipped(), hologramStats.coalesced()));
+                            final var particleStats = ((Game) game).getParticleService().getStats();
+                            chatService.sendMessage(player, IChatService.MessageSeverity.NEUTRAL, String.format(
+                                    "Particles: <accent>%d<text> sent, <accent>%d<text> emissions thinned, <accent>%d<text> dropped",
+                                    particleStats.sent(), particleStats.thinned(), particleStats.dropped()));
+                            chatService.sendMessage(player, IChatService.MessageSeverity.SUCCESS,
+                                    "Full metrics dumped to <base>" + path + "<text>!");
+                        }))
                 .withSubcommand(new CommandAPICommand("give_killer")
                         .executesPlayer((player, args) -> {
                             final var item = new ItemBuilder(Material.STICK)
@@ -0,0 +1,155 @@
+package net.itsthesky.terrawars.core.services;
+
+import net.itsthesky.terrawars.api.model.game.IGame;
+import net.itsthesky.terrawars.api.services.IParticleService;
+import net.itsthesky.terrawars.api.services.base.Service;
+import net.itsthesky.terrawars.util.Checks;
+import net.itsthesky.terrawars.util.ParticleShape;
+import org.bukkit.Bukkit;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ParticleService implements IParticleService {
+
+    private static final int DEFAULT_BUDGET_PER_TICK = 4000;
+
+    private final Map<Long, Particle.DustOptions> dustOptions = new ConcurrentHashMap<>();
+
+    // only used from the server thread
+    private final List<Player> viewers = new ArrayList<>();
+    private final Location scratchLocation = new Location(null, 0, 0, 0);
+    private int budgetPerTick = DEFAULT_BUDGET_PER_TICK;
+    private int currentTick = -1;
+    private int spentThisTick;
+
+    private long sent;
+    private long thinned;
+    private long dropped;
+
+    private ParticleService() {
+    }
+
+    @Override
+    public void spawn(@NotNull IGame game, @NotNull Particle particle, @NotNull Location location, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra, @Nullable Object data) {
+        Checks.notNull(location, "Location cannot be null");
+        if (count <= 0 || !collectViewers(game, location))
+            return;
+
+        final int stride = computeStride();
+        final int effectiveCount = Math.max(1, count / stride);
+        if (!consume(effectiveCount * viewers.size(), stride))
+            return;
+
+        for (Player viewer : viewers)
+            viewer.spawnParticle(particle, location.getX(), location.getY(), location.getZ(),
+                    effectiveCount, offsetX, offsetY, offsetZ, extra, data);
+        viewers.clear();
+    }
+
+    @Override
+    public void spawnShape(@NotNull IGame game, @NotNull Particle particle, @NotNull ParticleShape shape,
+                           @NotNull Location center, int countPerPoint, double spreadX, double spreadY, double spreadZ,
+                           @Nullable Object data) {
+        Checks.notNull(shape, "Shape cannot be null");
+        Checks.notNull(center, "Center cannot be null");
+        if (countPerPoint <= 0 || !collectViewers(game, center))
+            return;
+
+        final int stride = computeStride();
+        final int points = (shape.size() + stride - 1) / stride;
+        if (!consume(points * countPerPoint * viewers.size(), stride))
+            return;
+
+        final double x = center.getX(), y = center.getY(), z = center.getZ();
+        for (Player viewer : viewers)
+            for (int i = 0; i < shape.size(); i += stride)
+                viewer.spawnParticle(particle, x + shape.getX(i), y + shape.getY(i), z + shape.getZ(i),
+                        countPerPoint, spreadX, spreadY, spreadZ, 0, data);
+        viewers.clear();
+    }
+
+    @Override
+    public @NotNull Particle.DustOptions dust(@NotNull Color color, float size) {
+        Checks.notNull(color, "Color cannot be null");
+
+        final long key = ((long) color.asARGB() << 32) | (Float.floatToIntBits(size) & 0xFFFFFFFFL);
+        return dustOptions.computeIfAbsent(key, k -> new Particle.DustOptions(color, size));
+    }
+
+    @Override
+    public int getBudgetPerTick() {
+        return budgetPerTick;
+    }
+
+    @Override
+    public void setBudgetPerTick(int budgetPerTick) {
+        Checks.isTrue(budgetPerTick > 0, "Budget must be positive");
+        this.budgetPerTick = budgetPerTick;
+    }
+
+    @Override
+    public @NotNull ParticleStats getStats() {
+        return new ParticleStats(sent, thinned, dropped);
+    }
+
+    /**
+     * Fill {@link #viewers} with the players of the game close enough to the location.
+     * @return whether there is at least one viewer
+     */
+    private boolean collectViewers(@NotNull IGame game, @NotNull Location location) {
+        Checks.notNull(game, "Game cannot be null");
+        viewers.clear();
+
+        final var world = location.getWorld();
+        if (world == null)
+            return false;
+
+        for (Player player : world.getPlayers()) {
+            if (player.getLocation(scratchLocation).distanceSquared(location) <= VIEW_RANGE * VIEW_RANGE
+                    && game.findGamePlayer(player) != null)
+                viewers.add(player);
+        }
+        return !viewers.isEmpty();
+    }
+
+    /**
+     * Past half of the budget, only one particle out of two is sent.
+     */
+    private int computeStride() {
+        refreshTick();
+        return spentThisTick >= budgetPerTick / 2 ? 2 : 1;
+    }
+
+    private boolean consume(int cost, int stride) {
+        if (spentThisTick + cost > budgetPerTick) {
+            dropped++;
+            viewers.clear();
+            return false;
+        }
+
+        spentThisTick += cost;
+        sent += cost;
+        if (stride > 1)
+            thinned++;
+        return true;
+    }
+
+    private void refreshTick() {
+        final int tick = Bukkit.getCurrentTick();
+        if (tick != currentTick) {
+            currentTick = tick;
+            spentThisTick = 0;
+        }
+    }
+}
@@ -12,35 +12,168 @@ import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.session.ClipboardHolder;
 import com.sk89q.worldedit.world.World;
+import net.itsthesky.terrawars.TerraWars;
+import net.itsthesky.terrawars.api.model.biome.IBiome;
+import net.itsthesky.terrawars.api.services.IBiomeService;
 import net.itsthesky.terrawars.api.services.ISchemService;
+import net.itsthesky.terrawars.api.services.base.IService;
+import net.itsthesky.terrawars.api.services.base.Inject;
 import net.itsthesky.terrawars.api.services.base.Service;
+import net.itsthesky.terrawars.util.BukkitUtils;
 import org.bukkit.Location;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
-public class SchemService implements ISchemService {
+public class SchemService implements ISchemService, IService {
+
+    private static final File SCHEMATICS_FOLDER = new File("plugins/FastAsyncWorldEdit/schematics");
+    /**
+     * Nombre maximal de blocs (volume cumulé des clipboards) gardés en cache.
+     */
+    private static final long MAX_CACHED_VOLUME = 8_000_000L;
+
+    private final TerraWars plugin;
+    // Ordre d'accès, pour évincer le clipboard le moins récemment utilisé
+    private final LinkedHashMap<String, CachedClipboard> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedVolume;
+
+    @Inject
+    private IBiomeService biomeService;
+
+    public SchemService(TerraWars plugin) {
+        this.plugin = plugin;
+    }
 
     @Override
-    public void pasteSchematic(@NotNull String name, @NotNull Location center, boolean ignoreAir) {
-        // Chemin du fichier schematic dans le dossier plugins/FastAsyncWorldEdit/schematics
-        File fichierSchematic = new File("plugins/FastAsyncWorldEdit/schematics", name);
+    public void init() {
+        final var names = new ArrayList<String>();
+        names.add(NEUTRAL_SCHEMATIC);
+        for (IBiome biome : biomeService.getAvailableBiomes())
+            names.add(biome.getSchematicName());
 
-        // Vérifier si le fichier existe
-        if (!fichierSchematic.exists()) {
-            System.out.println("Le schematic " + name + " n'existe pas!");
+        // Précharger les schematics des biomes sans bloquer le démarrage
+        BukkitUtils.async(() -> {
+            int loaded = 0;
+            for (String name : names)
+                if (getClipboard(name) != null)
+                    loaded++;
+            plugin.getLogger().info("Preloaded " + loaded + "/" + names.size() + " schematics.");
+        });
+    }
+
+    @Override
+    public void destroy() {
+        invalidateCache();
+    }
+
+    @Override
+    public void pasteSchematic(@NotNull String name, @NotNull Location center, boolean ignoreAir) {
+        final var clipboard = getClipboard(name);
+        if (clipboard == null)
             return;
+
+        try {
+            paste(clipboard, center, ignoreAir);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.out.println("Erreur lors du collage du schematic: " + e.getMessage());
         }
+    }
 
+    @Override
+    public @NotNull CompletableFuture<Void> pasteSchematicAsync(@NotNull String name, @NotNull Location center, boolean ignoreAir) {
+        final var future = new CompletableFuture<Void>();
+        final var target = center.clone();
+
+        BukkitUtils.async(() -> {
+            try {
+                final var clipboard = getClipboard(name);
+                if (clipboard == null)
+                    throw new IOException("Le schematic " + name + " n'existe pas!");
+
+                // FAWE accepte les sessions d'édition hors du thread principal
+                paste(clipboard, target, ignoreAir);
+                completeOnMainThread(() -> future.complete(null));
+            } catch (Exception e) {
+                plugin.getLogger().warning("Erreur lors du collage du schematic " + name + ": " + e.getMessage());
+                completeOnMainThread(() -> future.completeExceptionally(e));
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Exécute la complétion sur le thread principal, ou directement si le plugin
+     * est en train de s'arrêter (aucune tâche ne peut plus être planifiée).
+     */
+    private void completeOnMainThread(@NotNull Runnable completion) {
+        if (plugin.isEnabled())
+            BukkitUtils.sync(completion);
+        else
+            completion.run();
+    }
+
+    @Override
+    public synchronized void invalidateCache() {
+        cache.clear();
+        cachedVolume = 0;
+    }
+
+    private void paste(@NotNull Clipboard clipboard, @NotNull Location center, boolean ignoreAir) {
         // Convertir la location Bukkit en BlockVector3 de WorldEdit
         BlockVector3 position = BlockVector3.at(center.getX(), center.getY(), center.getZ());
 
         // Adapter le monde Bukkit pour WorldEdit
         World weWorld = BukkitAdapter.adapt(center.getWorld());
 
+        // Créer une session d'édition
+        try (EditSession editSession = WorldEdit.getInstance().newEditSession(weWorld)) {
+            // Préparer l'opération de collage
+            Operation operation = new ClipboardHolder(clipboard)
+                    .createPaste(editSession)
+                    .to(position)
+                    .ignoreAirBlocks(ignoreAir)
+                    .copyEntities(true)
+                    .build();
+
+            // Exécuter l'opération
+            Operations.complete(operation);
+            // Vider la file d'attente pour appliquer les changements
+            editSession.flushQueue();
+        }
+    }
+
+    /**
+     * Récupère le clipboard d'un schematic depuis le cache, ou le lit depuis le disque
+     * s'il n'est pas en cache ou si le fichier a été modifié depuis.
+     */
+    private @Nullable Clipboard getClipboard(@NotNull String name) {
+        // Chemin du fichier schematic dans le dossier plugins/FastAsyncWorldEdit/schematics
+        File fichierSchematic = new File(SCHEMATICS_FOLDER, name);
+
+        // Vérifier si le fichier existe
+        if (!fichierSchematic.exists()) {
+            System.out.println("Le schematic " + name + " n'existe pas!");
+            return null;
+        }
+
+        final long lastModified = fichierSchematic.lastModified();
+        synchronized (this) {
+            final var cached = cache.get(name);
+            if (cached != null && cached.lastModified() == lastModified)
+                return cached.clipboard();
+        }
+
         try {
             // Détecter le format du schematic automatiquement
             ClipboardFormat format = ClipboardFormats.findByFile(fichierSchematic);
@@ -55,24 +188,32 @@ public class SchemService implements ISchemService {
                 clipboard = reader.read();
             }
 
-            // Créer une session d'édition
-            try (EditSession editSession = WorldEdit.getInstance().newEditSession(weWorld)) {
-                // Préparer l'opération de collage
-                Operation operation = new ClipboardHolder(clipboard)
-                        .createPaste(editSession)
-                        .to(position)
-                        .ignoreAirBlocks(ignoreAir)
-                        .copyEntities(true)
-                        .build();
-
-                // Exécuter l'opération
-                Operations.complete(operation);
-                // Vider la file d'attente pour appliquer les changements
-                editSession.flushQueue();
-            }
+            cacheClipboard(name, new CachedClipboard(clipboard, lastModified, clipboard.getRegion().getVolume()));
+            return clipboard;
         } catch (IOException e) {
             e.printStackTrace();
-            System.out.println("Erreur lors du chargement ou du collage du schematic: " + e.getMessage());
+            System.out.println("Erreur lors du chargement du schematic: " + e.getMessage());
+            return null;
         }
     }
+
+    private synchronized void cacheClipboard(@NotNull String name, @NotNull CachedClipboard entry) {
+        final var previous = cache.put(name, entry);
+        if (previous != null)
+            cachedVolume -= previous.volume();
+        cachedVolume += entry.volume();
+
+        // Évincer les clipboards les moins récemment utilisés (sauf celui qu'on vient d'ajouter)
+        final var iterator = cache.entrySet().iterator();
+        while (cachedVolume > MAX_CACHED_VOLUME && iterator.hasNext()) {
+            final Map.Entry<String, CachedClipboard> eldest = iterator.next();
+            if (eldest.getKey().equals(name))
+                continue;
+
+            cachedVolume -= eldest.getValue().volume();
+            iterator.remove();
+        }
+    }
+
+    private record CachedClipboard(@NotNull Clipboard clipboard, long lastModified, long volume) {}
 }
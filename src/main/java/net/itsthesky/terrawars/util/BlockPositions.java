@@ -0,0 +1,83 @@
+package net.itsthesky.terrawars.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packs block coordinates into a single <code>long</code>, using the same layout
+ * as vanilla's <code>BlockPos#asLong</code>: 26 bits for X, 26 bits for Z and 12 bits for Y.
+ * <br>
+ * Packed positions don't hold any world information, so they must only be compared
+ * to positions of the same world.
+ */
+public final class BlockPositions {
+
+    private static final int X_BITS = 26;
+    private static final int Z_BITS = 26;
+    private static final int Y_BITS = 12;
+
+    private static final long X_MASK = (1L << X_BITS) - 1L;
+    private static final long Y_MASK = (1L << Y_BITS) - 1L;
+    private static final long Z_MASK = (1L << Z_BITS) - 1L;
+
+    private static final int X_OFFSET = Y_BITS + Z_BITS;
+    private static final int Z_OFFSET = Y_BITS;
+
+    private BlockPositions() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static long pack(int x, int y, int z) {
+        return ((x & X_MASK) << X_OFFSET) | ((z & Z_MASK) << Z_OFFSET) | (y & Y_MASK);
+    }
+
+    public static long pack(@NotNull Block block) {
+        Checks.notNull(block, "Block cannot be null");
+        return pack(block.getX(), block.getY(), block.getZ());
+    }
+
+    public static long pack(@NotNull Location location) {
+        Checks.notNull(location, "Location cannot be null");
+        return pack(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed << (64 - X_OFFSET - X_BITS) >> (64 - X_BITS));
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - Y_BITS) >> (64 - Y_BITS));
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << (64 - Z_OFFSET - Z_BITS) >> (64 - Z_BITS));
+    }
+
+    public static @NotNull Block toBlock(@NotNull World world, long packed) {
+        Checks.notNull(world, "World cannot be null");
+        return world.getBlockAt(unpackX(packed), unpackY(packed), unpackZ(packed));
+    }
+
+    /**
+     * Get the key of the chunk containing the given packed position, as
+     * returned by {@link org.bukkit.Chunk#getChunkKey()}.
+     * @param packed the packed block position
+     * @return the chunk key
+     */
+    public static long chunkKey(long packed) {
+        return chunkKey(unpackX(packed) >> 4, unpackZ(packed) >> 4);
+    }
+
+    /**
+     * Get the key of the chunk at the given chunk coordinates, as returned by
+     * {@link org.bukkit.Chunk#getChunkKey()}.
+     * @param chunkX the X coordinate of the chunk
+     * @param chunkZ the Z coordinate of the chunk
+     * @return the chunk key
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return (chunkX & 0xffffffffL) | ((chunkZ & 0xffffffffL) << 32);
+    }
+}
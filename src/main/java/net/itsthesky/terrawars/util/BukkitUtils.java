@@ -2,7 +2,10 @@ package net.itsthesky.terrawars.util;
 
 import io.papermc.paper.adventure.PaperAdventure;
 import net.itsthesky.terrawars.TerraWars;
+import net.itsthesky.terrawars.api.model.game.IGame;
 import net.itsthesky.terrawars.api.services.IChatService;
+import net.itsthesky.terrawars.api.services.ICooldownService;
+import net.itsthesky.terrawars.api.services.IEventService;
 import net.itsthesky.terrawars.core.impl.game.Game;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
@@ -27,6 +30,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 public final class BukkitUtils {
@@ -101,6 +106,31 @@ public final class BukkitUtils {
         HandlerList.unregisterAll(listener);
     }
 
+    public static void subscribe(UUID entityId, Listener listener) {
+        if (entityId == null)
+            throw new IllegalArgumentException("Entity ID cannot be null");
+        if (listener == null)
+            throw new IllegalArgumentException("Listener cannot be null");
+
+        events().subscribe(entityId, listener);
+    }
+
+    public static void subscribe(IGame game, Listener listener) {
+        if (game == null)
+            throw new IllegalArgumentException("Game cannot be null");
+        if (listener == null)
+            throw new IllegalArgumentException("Listener cannot be null");
+
+        events().subscribe(game, listener);
+    }
+
+    public static void unsubscribe(Listener listener) {
+        if (listener == null)
+            throw new IllegalArgumentException("Listener cannot be null");
+
+        events().unsubscribe(listener);
+    }
+
     public static @Nullable PersistentDataContainer getBlockPdc(@NotNull Block block) {
         final var chunk = block.getChunk();
         final var key = new NamespacedKey(Keys.NAMESPACE, "block_pdc_" + block.getX() + "_" + block.getY() + "_" + block.getZ());
@@ -125,10 +155,49 @@ public final class BukkitUtils {
         chunk.getPersistentDataContainer().set(key, PersistentDataType.TAG_CONTAINER, pdc);
     }
 
+    public static void removeBlockPdc(@NotNull Block block) {
+        final var chunk = block.getChunk();
+        final var key = new NamespacedKey(Keys.NAMESPACE, "block_pdc_" + block.getX() + "_" + block.getY() + "_" + block.getZ());
+        chunk.getPersistentDataContainer().remove(key);
+    }
+
+    public static void forEachBlockPdc(@NotNull Chunk chunk,
+                                       @NotNull BiConsumer<Block, PersistentDataContainer> consumer) {
+        final var chunkPdc = chunk.getPersistentDataContainer();
+        for (final var key : chunkPdc.getKeys()) {
+            if (!key.getNamespace().equals(Keys.NAMESPACE) || !key.getKey().startsWith("block_pdc_"))
+                continue;
+
+            final var coords = key.getKey().substring("block_pdc_".length()).split("_");
+            if (coords.length != 3)
+                continue;
+
+            final var pdc = chunkPdc.get(key, PersistentDataType.TAG_CONTAINER);
+            if (pdc == null)
+                continue;
+
+            try {
+                final var block = chunk.getWorld().getBlockAt(Integer.parseInt(coords[0]),
+                        Integer.parseInt(coords[1]), Integer.parseInt(coords[2]));
+                consumer.accept(block, pdc);
+            } catch (NumberFormatException ignored) {
+                // not one of our block keys
+            }
+        }
+    }
+
     public static IChatService chat() {
         return TerraWars.instance().serviceProvider().getService(IChatService.class);
     }
 
+    public static IEventService events() {
+        return TerraWars.instance().serviceProvider().getService(IEventService.class);
+    }
+
+    public static ICooldownService cooldowns() {
+        return TerraWars.instance().serviceProvider().getService(ICooldownService.class);
+    }
+
     public static void playSound(@NotNull Audience audience, @NotNull Sound sound, float volume, float pitch) {
         Checks.notNull(audience, "Audience cannot be null");
         Checks.notNull(sound, "Sound cannot be null");
@@ -169,20 +238,14 @@ public final class BukkitUtils {
         inventory.setContents(contents);
     }
 
+    /**
+     * Collect the blocks of a {@link VoxelShape#sphere(int) sphere}. Prefer iterating the
+     * shape directly, which doesn't need any collection.
+     */
     public static Set<Block> sphereAround(Location location, int radius) {
-        final var sphere = new HashSet<Block>();
-        final var center = location.getBlock();
-        for(int x = -radius; x <= radius; x++) {
-            for(int y = -radius; y <= radius; y++) {
-                for(int z = -radius; z <= radius; z++) {
-                    Block b = center.getRelative(x, y, z);
-                    if(center.getLocation().distance(b.getLocation()) <= radius) {
-                        sphere.add(b);
-                    }
-                }
-
-            }
-        }
+        final var shape = VoxelShape.sphere(radius);
+        final var sphere = new HashSet<Block>(shape.size() * 4 / 3 + 1);
+        shape.forEachBlock(location, sphere::add);
         return sphere;
     }
 }
@@ -0,0 +1,79 @@
+package net.itsthesky.terrawars.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable table of particle offsets, relative to the center of the shape.
+ * <br>
+ * Shapes are meant to be computed once (typically in a <code>static final</code> field)
+ * and emitted many times through the {@link net.itsthesky.terrawars.api.services.IParticleService
+ * particle service}, so no trigonometry nor {@link org.bukkit.Location} is involved per emission.
+ */
+public final class ParticleShape {
+
+    private final double[] offsets;
+
+    private ParticleShape(double @NotNull [] offsets) {
+        this.offsets = offsets;
+    }
+
+    /**
+     * Create a horizontal circle.
+     * @param radius the radius of the circle
+     * @param points the number of points on the circle
+     * @return the circle shape
+     */
+    public static @NotNull ParticleShape circle(double radius, int points) {
+        Checks.isTrue(points > 0, "Points must be positive");
+
+        final var offsets = new double[points * 3];
+        final double increment = 2 * Math.PI / points;
+        for (int i = 0; i < points; i++) {
+            offsets[i * 3] = radius * Math.cos(i * increment);
+            offsets[i * 3 + 2] = radius * Math.sin(i * increment);
+        }
+        return new ParticleShape(offsets);
+    }
+
+    /**
+     * Create horizontal spokes around the center, one point per block of distance.
+     * @param spokes the number of spokes, evenly spread around the center
+     * @param minDistance the distance of the first point of each spoke
+     * @param maxDistance the distance of the last point of each spoke
+     * @return the spokes shape
+     */
+    public static @NotNull ParticleShape spokes(int spokes, int minDistance, int maxDistance) {
+        Checks.isTrue(spokes > 0, "Spokes must be positive");
+        Checks.isTrue(minDistance <= maxDistance, "Min distance cannot be greater than max distance");
+
+        final int perSpoke = maxDistance - minDistance + 1;
+        final var offsets = new double[spokes * perSpoke * 3];
+        final double increment = 2 * Math.PI / spokes;
+        int index = 0;
+        for (int i = 0; i < spokes; i++) {
+            final double cos = Math.cos(i * increment), sin = Math.sin(i * increment);
+            for (int distance = minDistance; distance <= maxDistance; distance++) {
+                offsets[index++] = cos * distance;
+                offsets[index++] = 0;
+                offsets[index++] = sin * distance;
+            }
+        }
+        return new ParticleShape(offsets);
+    }
+
+    public int size() {
+        return offsets.length / 3;
+    }
+
+    public double getX(int index) {
+        return offsets[index * 3];
+    }
+
+    public double getY(int index) {
+        return offsets[index * 3 + 1];
+    }
+
+    public double getZ(int index) {
+        return offsets[index * 3 + 2];
+    }
+}
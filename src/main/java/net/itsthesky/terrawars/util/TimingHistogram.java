@@ -0,0 +1,97 @@
+package net.itsthesky.terrawars.util;
+
+import java.util.Arrays;
+
+/**
+ * Lightweight histogram of durations, in nanoseconds.
+ * <br>
+ * Values are stored in logarithmic buckets (8 sub-buckets per power of two), so recording
+ * is a few arithmetic operations with no allocation, and percentiles are precise to ~12%.
+ * <br>
+ * Methods are synchronized, as some durations are recorded from async events (e.g. chat).
+ */
+public class TimingHistogram {
+
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = 4; // first exponent not covered by the linear buckets
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - MIN_EXPONENT) * SUB_BUCKETS;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public synchronized void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+
+        buckets[bucketOf(nanos)]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos)
+            maxNanos = nanos;
+    }
+
+    /**
+     * Get an approximation of the given percentile.
+     * @param percentile the percentile, between 0 and 1 (e.g. 0.99 for the p99)
+     * @return the approximated duration, in nanoseconds, or 0 if nothing was recorded
+     */
+    public synchronized long getPercentile(double percentile) {
+        Checks.isTrue(percentile >= 0 && percentile <= 1, "Percentile must be between 0 and 1");
+        if (count == 0)
+            return 0;
+
+        final long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= target)
+                return Math.min(valueOf(i), maxNanos);
+        }
+        return maxNanos;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public synchronized long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(buckets, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < LINEAR_BUCKETS)
+            return (int) nanos;
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        final int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the middle value of the given bucket
+     */
+    private static long valueOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS)
+            return bucket;
+
+        final int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + MIN_EXPONENT;
+        final int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + subBucket * width + width / 2;
+    }
+}
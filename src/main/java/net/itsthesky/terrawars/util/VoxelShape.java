@@ -0,0 +1,271 @@
+package net.itsthesky.terrawars.util;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * An immutable table of block offsets, relative to a center block.
+ * <br>
+ * Offsets are sorted by Y, then X, then Z, so iterations walk each chunk section in order.
+ * Spheres, domes and shells are cached per radius (up to {@link #MAX_CACHED_RADIUS}), and
+ * other shapes are meant to be built once (typically in a <code>static final</code> field):
+ * iterating a shape never involves any {@link Location}, distance check or collection.
+ * <br>
+ * Block types are read through {@link ChunkSnapshot chunk snapshots} when the shape has at
+ * least {@link #MIN_SNAPSHOT_SIZE} blocks and spans at most {@link #MAX_SNAPSHOT_CHUNKS} loaded
+ * chunks, and directly from the world otherwise: a snapshot copies its whole chunk, which only
+ * pays off when the shape reads a large part of it.
+ */
+public final class VoxelShape {
+
+    public static final int MAX_CACHED_RADIUS = 16;
+    public static final int MIN_SNAPSHOT_SIZE = 4096;
+    public static final int MAX_SNAPSHOT_CHUNKS = 4;
+
+    private static final VoxelShape[] SPHERES = new VoxelShape[MAX_CACHED_RADIUS + 1];
+    private static final VoxelShape[] DOMES = new VoxelShape[MAX_CACHED_RADIUS + 1];
+    private static final VoxelShape[] SHELLS = new VoxelShape[MAX_CACHED_RADIUS + 1];
+
+    private final int[] offsets;
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+    private VoxelShape(int @NotNull [] offsets) {
+        this.offsets = offsets;
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < offsets.length; i += 3) {
+            minX = Math.min(minX, offsets[i]);
+            maxX = Math.max(maxX, offsets[i]);
+            minY = Math.min(minY, offsets[i + 1]);
+            maxY = Math.max(maxY, offsets[i + 1]);
+            minZ = Math.min(minZ, offsets[i + 2]);
+            maxZ = Math.max(maxZ, offsets[i + 2]);
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Get a ball: every offset whose distance to the center is at most the radius.
+     * @param radius the radius of the sphere
+     * @return the sphere shape
+     */
+    public static @NotNull VoxelShape sphere(int radius) {
+        return cached(SPHERES, radius, r -> filledBox(-r, -r, -r, r, r, r,
+                (x, y, z) -> x * x + y * y + z * z <= r * r));
+    }
+
+    /**
+     * Get the upper half of a {@link #sphere(int) sphere}, the center's layer included.
+     * @param radius the radius of the dome
+     * @return the dome shape
+     */
+    public static @NotNull VoxelShape dome(int radius) {
+        return cached(DOMES, radius, r -> filledBox(-r, 0, -r, r, r, r,
+                (x, y, z) -> x * x + y * y + z * z <= r * r));
+    }
+
+    /**
+     * Get the outer layer of a {@link #sphere(int) sphere}: its offsets that have at least
+     * one neighbour outside of it.
+     * @param radius the radius of the shell
+     * @return the shell shape
+     */
+    public static @NotNull VoxelShape shell(int radius) {
+        return cached(SHELLS, radius, r -> filledBox(-r, -r, -r, r, r, r, (x, y, z) -> {
+            final int squared = r * r;
+            return x * x + y * y + z * z <= squared
+                    && ((x + 1) * (x + 1) + y * y + z * z > squared || (x - 1) * (x - 1) + y * y + z * z > squared
+                    || x * x + (y + 1) * (y + 1) + z * z > squared || x * x + (y - 1) * (y - 1) + z * z > squared
+                    || x * x + y * y + (z + 1) * (z + 1) > squared || x * x + y * y + (z - 1) * (z - 1) > squared);
+        }));
+    }
+
+    /**
+     * Create a box, all bounds being inclusive.
+     * @return the box shape
+     */
+    public static @NotNull VoxelShape box(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        Checks.isTrue(minX <= maxX && minY <= maxY && minZ <= maxZ, "Min bounds cannot be greater than max bounds");
+        return filledBox(minX, minY, minZ, maxX, maxY, maxZ, (x, y, z) -> true);
+    }
+
+    public int size() {
+        return offsets.length / 3;
+    }
+
+    public int getX(int index) {
+        return offsets[index * 3];
+    }
+
+    public int getY(int index) {
+        return offsets[index * 3 + 1];
+    }
+
+    public int getZ(int index) {
+        return offsets[index * 3 + 2];
+    }
+
+    /**
+     * Visit every position of the shape around a center, without reading the world.
+     * @param center the center of the shape
+     * @param visitor the visitor of each position
+     */
+    public void forEachPosition(@NotNull Location center, @NotNull PositionVisitor visitor) {
+        Checks.notNull(center, "Center cannot be null");
+        Checks.notNull(visitor, "Visitor cannot be null");
+
+        final int cx = center.getBlockX(), cy = center.getBlockY(), cz = center.getBlockZ();
+        for (int i = 0; i < offsets.length; i += 3)
+            visitor.visit(cx + offsets[i], cy + offsets[i + 1], cz + offsets[i + 2]);
+    }
+
+    /**
+     * Visit every block of the shape around a center, typically to modify them.
+     * Positions outside the world's height are skipped.
+     * @param center the center of the shape, in the world to visit
+     * @param action the action to run on each block
+     */
+    public void forEachBlock(@NotNull Location center, @NotNull Consumer<Block> action) {
+        Checks.notNull(center, "Center cannot be null");
+        Checks.notNull(action, "Action cannot be null");
+
+        final var world = center.getWorld();
+        final int minHeight = world.getMinHeight(), maxHeight = world.getMaxHeight();
+        forEachPosition(center, (x, y, z) -> {
+            if (y >= minHeight && y < maxHeight)
+                action.accept(world.getBlockAt(x, y, z));
+        });
+    }
+
+    /**
+     * Visit the type of every block of the shape around a center.
+     * Positions outside the world's height are skipped.
+     * @param center the center of the shape, in the world to read
+     * @param visitor the visitor of each position and its type
+     */
+    public void forEachType(@NotNull Location center, @NotNull TypeVisitor visitor) {
+        Checks.notNull(center, "Center cannot be null");
+        Checks.notNull(visitor, "Visitor cannot be null");
+
+        final var world = center.getWorld();
+        final int cx = center.getBlockX(), cy = center.getBlockY(), cz = center.getBlockZ();
+        final int minHeight = world.getMinHeight(), maxHeight = world.getMaxHeight();
+        final int minChunkX = (cx + minX) >> 4, minChunkZ = (cz + minZ) >> 4;
+        final int chunksX = ((cx + maxX) >> 4) - minChunkX + 1;
+        final int chunksZ = ((cz + maxZ) >> 4) - minChunkZ + 1;
+
+        final var snapshots = size() < MIN_SNAPSHOT_SIZE ? null
+                : snapshots(world, minChunkX, minChunkZ, chunksX, chunksZ);
+        for (int i = 0; i < offsets.length; i += 3) {
+            final int x = cx + offsets[i], y = cy + offsets[i + 1], z = cz + offsets[i + 2];
+            if (y < minHeight || y >= maxHeight)
+                continue;
+
+            final Material type;
+            if (snapshots == null)
+                type = world.getType(x, y, z);
+            else
+                type = snapshots[((x >> 4) - minChunkX) * chunksZ + ((z >> 4) - minChunkZ)]
+                        .getBlockType(x & 15, y, z & 15);
+            visitor.visit(x, y, z, type);
+        }
+    }
+
+    /**
+     * Count the blocks of the shape around a center whose type matches a filter.
+     * @param center the center of the shape, in the world to read
+     * @param filter the filter of the types to count
+     * @return the number of matching blocks
+     */
+    public int count(@NotNull Location center, @NotNull Predicate<Material> filter) {
+        Checks.notNull(filter, "Filter cannot be null");
+
+        final int[] count = new int[1];
+        forEachType(center, (x, y, z, type) -> {
+            if (filter.test(type))
+                count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * @return the snapshots of the chunks, indexed by [x * chunksZ + z], or null if there are
+     * too many of them or one of them isn't loaded
+     */
+    private static ChunkSnapshot[] snapshots(@NotNull World world, int minChunkX, int minChunkZ,
+                                             int chunksX, int chunksZ) {
+        if (chunksX * chunksZ > MAX_SNAPSHOT_CHUNKS)
+            return null;
+
+        final var snapshots = new ChunkSnapshot[chunksX * chunksZ];
+        for (int x = 0; x < chunksX; x++) {
+            for (int z = 0; z < chunksZ; z++) {
+                if (!world.isChunkLoaded(minChunkX + x, minChunkZ + z))
+                    return null;
+                snapshots[x * chunksZ + z] = world.getChunkAt(minChunkX + x, minChunkZ + z)
+                        .getChunkSnapshot(false, false, false);
+            }
+        }
+        return snapshots;
+    }
+
+    private static @NotNull VoxelShape cached(@NotNull VoxelShape @NotNull [] cache, int radius,
+                                              @NotNull IntFunction<VoxelShape> factory) {
+        Checks.isTrue(radius >= 0, "Radius cannot be negative");
+        if (radius > MAX_CACHED_RADIUS)
+            return factory.apply(radius);
+
+        var shape = cache[radius];
+        if (shape == null)
+            shape = cache[radius] = factory.apply(radius);
+        return shape;
+    }
+
+    private static @NotNull VoxelShape filledBox(int minX, int minY, int minZ, int maxX, int maxY, int maxZ,
+                                                 @NotNull PositionFilter filter) {
+        final var offsets = new int[(maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1) * 3];
+        int index = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    if (!filter.test(x, y, z))
+                        continue;
+                    offsets[index++] = x;
+                    offsets[index++] = y;
+                    offsets[index++] = z;
+                }
+            }
+        }
+        return new VoxelShape(Arrays.copyOf(offsets, index));
+    }
+
+    @FunctionalInterface
+    public interface PositionVisitor {
+        void visit(int x, int y, int z);
+    }
+
+    @FunctionalInterface
+    public interface TypeVisitor {
+        void visit(int x, int y, int z, @NotNull Material type);
+    }
+
+    @FunctionalInterface
+    private interface PositionFilter {
+        boolean test(int x, int y, int z);
+    }
+}